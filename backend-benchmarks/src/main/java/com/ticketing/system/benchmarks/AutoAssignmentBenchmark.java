@@ -0,0 +1,110 @@
+package com.ticketing.system.benchmarks;
+
+import com.ticketing.system.model.AgentWorkload;
+import com.ticketing.system.model.Role;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.User;
+import com.ticketing.system.repository.TicketRepository;
+import com.ticketing.system.repository.UserRepository;
+import com.ticketing.system.service.TicketAutoAssignmentService;
+import com.ticketing.system.service.UserDirectoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workload scoring and agent selection in TicketAutoAssignmentService, with the
+ * repositories answered from memory. This isolates the service's own cost (grouping,
+ * counting, scoring, sorting) from MongoDB round trips, which the queries-per-run
+ * metric covers in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutoAssignmentBenchmark {
+
+    @Param({"10", "100"})
+    private int agents;
+
+    @Param({"25"})
+    private int activeTicketsPerAgent;
+
+    private TicketAutoAssignmentService autoAssignmentService;
+    private int[][] priorityCounts;
+
+    @Setup(Level.Trial)
+    public void createAgents() {
+        TicketCorpus corpus = new TicketCorpus(42);
+        List<User> agentUsers = new ArrayList<>(agents);
+        Map<String, User> usersById = new HashMap<>();
+        Map<String, List<Ticket>> ticketsByAgent = new HashMap<>();
+        priorityCounts = new int[agents][3]; // By Priority ordinal: LOW, MEDIUM, HIGH
+        for (int i = 0; i < agents; i++) {
+            User agent = User.builder()
+                    .id("agent-" + i)
+                    .name("Agent " + i)
+                    .email("agent" + i + "@company.com")
+                    .role(Role.AGENT)
+                    .build();
+            agentUsers.add(agent);
+            usersById.put(agent.getId(), agent);
+            // Uneven workloads, so the sort has work to do
+            List<Ticket> tickets = corpus.tickets(1 + (i * 7) % activeTicketsPerAgent, agent.getId(), agent.getName());
+            ticketsByAgent.put(agent.getId(), tickets);
+            for (Ticket ticket : tickets) {
+                priorityCounts[i][ticket.getPriority().ordinal()]++;
+            }
+        }
+
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of(
+                "findByRole", args -> agentUsers,
+                "findById", args -> Optional.ofNullable(usersById.get((String) args[0]))));
+        TicketRepository ticketRepository = RepositoryStubs.stub(TicketRepository.class, Map.of(
+                "findByAssignedAgentIdAndStatusIn", args -> ticketsByAgent.getOrDefault((String) args[0], List.of())));
+        UserDirectoryService userDirectoryService = new UserDirectoryService(userRepository, 10_000, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+
+        autoAssignmentService = new TicketAutoAssignmentService(ticketRepository, userRepository, userDirectoryService,
+                event -> { }, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public double workloadScores() {
+        double total = 0;
+        for (int[] counts : priorityCounts) {
+            total += TicketAutoAssignmentService.calculateWorkloadScore(counts[2], counts[1], counts[0]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<AgentWorkload> getAgentWorkloads() {
+        return autoAssignmentService.getAgentWorkloads();
+    }
+
+    @Benchmark
+    public Optional<User> findBestAgentForAssignment() {
+        return autoAssignmentService.findBestAgentForAssignment();
+    }
+}
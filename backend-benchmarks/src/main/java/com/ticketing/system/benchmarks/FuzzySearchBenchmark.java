@@ -0,0 +1,103 @@
+package com.ticketing.system.benchmarks;
+
+import com.ticketing.system.util.FuzzySearchUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FuzzySearchUtil on a generated ticket corpus. The single-pair benchmarks rotate
+ * through the corpus so no one input gets special treatment from the JIT; the
+ * corpus benchmarks score one query against every ticket, per call and batched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final int QUERIES = 64;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int corpusSize;
+
+    private String[] titles;
+    private String[] descriptions;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generateCorpus() {
+        TicketCorpus corpus = new TicketCorpus(42);
+        titles = new String[corpusSize];
+        descriptions = new String[corpusSize];
+        for (int i = 0; i < corpusSize; i++) {
+            titles[i] = corpus.title();
+            descriptions[i] = corpus.description();
+        }
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = corpus.query();
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % corpusSize;
+        return next;
+    }
+
+    @Benchmark
+    public int levenshteinDistance() {
+        int i = nextIndex();
+        return FuzzySearchUtil.levenshteinDistance(queries[i % QUERIES], titles[i]);
+    }
+
+    @Benchmark
+    public double similarity() {
+        int i = nextIndex();
+        return FuzzySearchUtil.similarity(queries[i % QUERIES], titles[i]);
+    }
+
+    @Benchmark
+    public boolean fuzzyMatches() {
+        int i = nextIndex();
+        return FuzzySearchUtil.fuzzyMatches(queries[i % QUERIES], descriptions[i], FuzzySearchUtil.getDefaultThreshold());
+    }
+
+    @Benchmark
+    public double calculateRelevanceScore() {
+        int i = nextIndex();
+        return FuzzySearchUtil.calculateRelevanceScore(queries[i % QUERIES], titles[i], descriptions[i]);
+    }
+
+    // One query against the whole corpus, a ticket at a time
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void scoreCorpusPerTicket(Blackhole blackhole) {
+        String query = queries[nextIndex() % QUERIES];
+        for (int i = 0; i < corpusSize; i++) {
+            blackhole.consume(FuzzySearchUtil.calculateRelevanceScore(query, titles[i], descriptions[i]));
+        }
+    }
+
+    // The same work through the batch API (query tokenized once)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double[] scoreCorpusBatched() {
+        return FuzzySearchUtil.calculateRelevanceScores(queries[nextIndex() % QUERIES], titles, descriptions);
+    }
+}
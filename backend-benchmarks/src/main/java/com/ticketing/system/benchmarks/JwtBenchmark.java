@@ -0,0 +1,117 @@
+package com.ticketing.system.benchmarks;
+
+import com.ticketing.system.security.JwtAuthenticationFilter;
+import com.ticketing.system.security.JwtService;
+import com.ticketing.system.security.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue, and the JWT filter's cost per request: token verification, the
+ * revocation check, building the principal and setting the security context.
+ * filterCached is a repeat request whose token is already in the verified-token
+ * cache; filterUncached runs with the cache turned off, so every request does the
+ * full HMAC check and JSON parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationMustBe256BitsLongForHS256Algorithm123456";
+    private static final long EXPIRATION_MILLIS = 86_400_000;
+    private static final int TOKENS = 1024;
+
+    // The rest of the chain; the request ends here
+    private static final FilterChain END_OF_CHAIN = (request, response) -> { };
+
+    private JwtService cachingService;
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter nonCachingFilter;
+    private MockHttpServletRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void issueTokens() throws ServletException, IOException {
+        TokenRevocationService revocationService = new TokenRevocationService();
+        cachingService = new JwtService(SECRET, EXPIRATION_MILLIS, 10_000);
+        cachingFilter = new JwtAuthenticationFilter(cachingService, revocationService, new SimpleMeterRegistry());
+        // Size 0 turns the cache off rather than making a zero-size cache, which would still hit
+        nonCachingFilter = new JwtAuthenticationFilter(new JwtService(SECRET, EXPIRATION_MILLIS, 0),
+                revocationService, new SimpleMeterRegistry());
+
+        requests = new MockHttpServletRequest[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            String token = cachingService.generateToken("user-" + i, "agent" + i + "@company.com", "AGENT");
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tickets");
+            request.addHeader("Authorization", "Bearer " + token);
+            requests[i] = request;
+            // Fill the cache, and check the filter authenticates these requests at all
+            if (authenticate(cachingFilter, request, new MockHttpServletResponse()) == null) {
+                throw new IllegalStateException("Benchmark token was not accepted by the filter");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+        private int next;
+
+        int nextIndex() {
+            next = (next + 1) % TOKENS;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public String generateToken(Cursor cursor) {
+        int i = cursor.nextIndex();
+        return cachingService.generateToken("user-" + i, "agent" + i + "@company.com", "AGENT");
+    }
+
+    @Benchmark
+    public Authentication filterCached(Cursor cursor) throws ServletException, IOException {
+        return authenticate(cachingFilter, requests[cursor.nextIndex()], cursor.response);
+    }
+
+    @Benchmark
+    public Authentication filterUncached(Cursor cursor) throws ServletException, IOException {
+        return authenticate(nonCachingFilter, requests[cursor.nextIndex()], cursor.response);
+    }
+
+    // One request through the filter; the context is cleared afterwards, as Spring Security
+    // does at the end of every request, so the next call authenticates again
+    private static Authentication authenticate(JwtAuthenticationFilter filter, MockHttpServletRequest request,
+                                               MockHttpServletResponse response) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, END_OF_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
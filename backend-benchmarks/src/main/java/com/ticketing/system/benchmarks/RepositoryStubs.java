@@ -0,0 +1,37 @@
+package com.ticketing.system.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Spring Data repository interfaces backed by in-memory answers, so services can be
+ * benchmarked without MongoDB. Only the listed methods are answered; calling any
+ * other repository method fails the benchmark.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    switch (method.getName()) {
+                        case "toString":
+                            return repositoryType.getSimpleName() + " stub";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                    }
+                });
+        return repositoryType.cast(stub);
+    }
+}
@@ -0,0 +1,133 @@
+package com.ticketing.system.benchmarks;
+
+import com.ticketing.system.model.Activity;
+import com.ticketing.system.model.Comment;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic ticket text and tickets shaped like real support traffic: short
+ * titles, a few sentences of description, and queries with typos. The same seed
+ * gives the same corpus on every run, so results are comparable.
+ */
+final class TicketCorpus {
+
+    private static final String[] SUBJECTS = {
+            "login", "password", "payment", "invoice", "refund", "subscription", "account", "email",
+            "notification", "dashboard", "report", "export", "upload", "download", "checkout", "order",
+            "shipping", "delivery", "profile", "settings", "mobile app", "browser", "api", "integration"
+    };
+    private static final String[] PROBLEMS = {
+            "not working", "fails with an error", "is very slow", "keeps timing out", "shows the wrong amount",
+            "was charged twice", "cannot be reset", "is missing", "does not load", "crashes on startup",
+            "returns a blank page", "is stuck in pending"
+    };
+    private static final String[] DETAILS = {
+            "This started after the latest update.", "It happens on every attempt since yesterday.",
+            "I have already cleared the cache and tried another browser.", "Several people on our team see the same thing.",
+            "The error message says something went wrong, please try again later.",
+            "We need this fixed before the end of the month.", "Screenshots are attached to the original email.",
+            "Our order number is in the subject of the previous message.", "It worked fine last week.",
+            "Please advise on a workaround in the meantime."
+    };
+
+    private final Random random;
+
+    TicketCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+
+    String title() {
+        return capitalize(pick(SUBJECTS)) + " " + pick(PROBLEMS);
+    }
+
+    String description() {
+        StringBuilder description = new StringBuilder("My " + pick(SUBJECTS) + " " + pick(PROBLEMS) + ".");
+        int sentences = 1 + random.nextInt(4);
+        for (int i = 0; i < sentences; i++) {
+            description.append(' ').append(pick(DETAILS));
+        }
+        return description.toString();
+    }
+
+    /**
+     * A search a user might type: one or two subject words, sometimes with a typo.
+     */
+    String query() {
+        String query = pick(SUBJECTS);
+        if (random.nextBoolean()) {
+            query += " " + pick(PROBLEMS).split(" ")[0];
+        }
+        return random.nextInt(3) == 0 ? typo(query) : query;
+    }
+
+    Ticket ticket(String agentId, String agentName, int comments, int activities) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(random.nextInt(500_000));
+        Ticket ticket = Ticket.builder()
+                .id(UUID.randomUUID().toString())
+                .title(title())
+                .description(description())
+                .status(TicketStatus.values()[random.nextInt(TicketStatus.values().length)])
+                .priority(Priority.values()[random.nextInt(Priority.values().length)])
+                .assignedAgentId(agentId)
+                .assignedAgentName(agentName)
+                .customerEmail("customer" + random.nextInt(10_000) + "@example.com")
+                .customerName("Customer " + random.nextInt(10_000))
+                .customerTier("STANDARD")
+                .comments(new ArrayList<>())
+                .activities(new ArrayList<>())
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusHours(random.nextInt(72)))
+                .build();
+        for (int i = 0; i < comments; i++) {
+            ticket.getComments().add(Comment.builder()
+                    .id(UUID.randomUUID().toString())
+                    .userId(agentId)
+                    .userName(agentName)
+                    .content(pick(DETAILS))
+                    .createdAt(createdAt.plusMinutes(i))
+                    .build());
+        }
+        for (int i = 0; i < activities; i++) {
+            ticket.getActivities().add(Activity.builder()
+                    .id(UUID.randomUUID().toString())
+                    .userId("SYSTEM")
+                    .userName("System")
+                    .action("STATUS_CHANGED")
+                    .details("Status changed from NOT_STARTED to IN_PROGRESS")
+                    .timestamp(createdAt.plusMinutes(i))
+                    .build());
+        }
+        return ticket;
+    }
+
+    List<Ticket> tickets(int count, String agentId, String agentName) {
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(ticket(agentId, agentName, 0, 1));
+        }
+        return tickets;
+    }
+
+    private String typo(String text) {
+        int position = random.nextInt(text.length());
+        char[] chars = text.toCharArray();
+        chars[position] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ticketing.system.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ticketing.system.dto.TicketResponse;
+import com.ticketing.system.dto.TicketSummaryResponse;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticket to DTO mapping in TicketService and JSON serialization of the result, as
+ * done for list views (summaries) and the ticket details page (full response with
+ * comments and activities).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketMappingBenchmark {
+
+    private static final int TICKETS = 256;
+
+    // History entries per ticket: comments, and twice as many activities
+    @Param({"5", "50"})
+    private int historySize;
+
+    private TicketService ticketService;
+    private ObjectMapper objectMapper;
+    private List<Ticket> tickets;
+    private TicketSummaryResponse summary;
+    private TicketResponse response;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createTickets() {
+        // Mapping touches none of the service's collaborators
+        ticketService = new TicketService(null, null, null, null, null);
+        // Configured like Spring Boot's ObjectMapper
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        TicketCorpus corpus = new TicketCorpus(42);
+        tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(corpus.ticket("agent-" + (i % 10), "Agent " + (i % 10), historySize, historySize * 2));
+        }
+        summary = ticketService.mapToTicketSummary(tickets.get(0));
+        response = ticketService.mapToTicketResponse(tickets.get(0));
+    }
+
+    private Ticket nextTicket() {
+        next = (next + 1) % TICKETS;
+        return tickets.get(next);
+    }
+
+    @Benchmark
+    public TicketSummaryResponse mapToTicketSummary() {
+        return ticketService.mapToTicketSummary(nextTicket());
+    }
+
+    @Benchmark
+    public TicketResponse mapToTicketResponse() {
+        return ticketService.mapToTicketResponse(nextTicket());
+    }
+
+    @Benchmark
+    public byte[] serializeSummary() throws Exception {
+        return objectMapper.writeValueAsBytes(summary);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // A list view: map and serialize every ticket, as GET /api/v1/tickets does
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] mapAndSerializeSummaryList() throws Exception {
+        List<TicketSummaryResponse> summaries = new ArrayList<>(TICKETS);
+        for (Ticket ticket : tickets) {
+            summaries.add(ticketService.mapToTicketSummary(ticket));
+        }
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -2,10 +2,12 @@ package com.ticketing.system;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@ConfigurationPropertiesScan
 public class TicketingSystemApplication {
     public static void main(String[] args) {
         SpringApplication.run(TicketingSystemApplication.class, args);
@@ -0,0 +1,49 @@
+package com.ticketing.system.config;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.TicketStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Seed data written by DataInitializer on first start (prefix "data-generator").
+ * The defaults reproduce the original demo data set.
+ */
+@Data
+@ConfigurationProperties(prefix = "data-generator")
+public class DataGeneratorProperties {
+
+    // Agents beyond the five named demo agents get generated names and agentN@company.com
+    private int agents = 5;
+
+    // Tickets assigned to agents, plus unassigned NOT_STARTED tickets without a priority
+    private long tickets = 50;
+    private int unassignedTickets = 3;
+
+    // Average comments on tickets an agent has started work on
+    private int commentsPerTicket = 1;
+
+    // Relative weights; a weight of 0 leaves that status or priority out
+    private Map<TicketStatus, Integer> statuses = new EnumMap<>(Map.of(
+            TicketStatus.NOT_STARTED, 1, TicketStatus.IN_PROGRESS, 1,
+            TicketStatus.RESOLVED, 1, TicketStatus.INVALID, 1));
+    private Map<Priority, Integer> priorities = new EnumMap<>(Map.of(
+            Priority.LOW, 1, Priority.MEDIUM, 1, Priority.HIGH, 1));
+
+    // Tickets are created up to max-age ago; an age-skew above 1 makes recent tickets more common
+    private Duration maxAge = Duration.ofDays(30);
+    private double ageSkew = 1.0;
+
+    // Same seed, same tickets, whatever the thread count
+    private long seed = 42;
+
+    // Tickets per insertMany / Elasticsearch _bulk request
+    private int batchSize = 1000;
+
+    // Threads generating and writing batches; 0 for one per available processor
+    private int threads = 0;
+}
@@ -0,0 +1,45 @@
+package com.ticketing.system.config;
+
+import co.elastic.clients.transport.ElasticsearchTransport;
+import com.ticketing.system.util.CountingElasticsearchTransport;
+import com.ticketing.system.util.MongoCommandCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics exposed at /actuator/prometheus. Spring Boot already times HTTP requests,
+ * scheduled jobs and MongoDB commands (mongodb.driver.commands, from the driver's
+ * CommandListener); this adds @Timed support for service methods, per-thread
+ * MongoDB command counts and per-request Elasticsearch call counts.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandCounter() {
+        return settings -> settings.addCommandListener(new MongoCommandCounter());
+    }
+
+    // Static, as bean post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor elasticsearchCallCounter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ElasticsearchTransport && !(bean instanceof CountingElasticsearchTransport)) {
+                    return new CountingElasticsearchTransport((ElasticsearchTransport) bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticketing.system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request query budget checked by QueryBudgetFilter (prefix "query-budget").
+ */
+@Data
+@ConfigurationProperties(prefix = "query-budget")
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    // A request sending more than this is logged at WARN with its endpoint
+    private int maxMongoCommands = 25;
+    private int maxElasticsearchCalls = 5;
+
+    // The same query shape sent more than this many times in one request is logged as a likely N+1
+    private int maxRepeats = 3;
+
+    // X-Mongo-Commands and X-Elasticsearch-Calls on every response; meant for development
+    private boolean headers = false;
+
+    // Per-endpoint query count summaries at /actuator/prometheus
+    private boolean metrics = true;
+}
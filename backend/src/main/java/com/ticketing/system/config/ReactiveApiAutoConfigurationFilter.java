@@ -0,0 +1,47 @@
+package com.ticketing.system.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * Skips the reactive MongoDB and Elasticsearch auto-configuration unless the streaming
+ * read API is on (reactive-api.enabled=true). The reactive driver is on the classpath for
+ * that API, and without this every deployment would start a second MongoDB client, a
+ * reactive Elasticsearch client and reactive repository scanning it never uses.
+ *
+ * A filter rather than spring.autoconfigure.exclude, so the classes stay in Boot's own
+ * ordering when they are wanted. Registered in META-INF/spring.factories.
+ */
+public class ReactiveApiAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final Set<String> REACTIVE_AUTO_CONFIGURATIONS = Set.of(
+            "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.elasticsearch.ReactiveElasticsearchClientAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.elasticsearch.ReactiveElasticsearchRepositoriesAutoConfiguration");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean reactiveApi = environment.getProperty("reactive-api.enabled", Boolean.class, false);
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            // Entries already filtered out by an earlier filter are null
+            String autoConfigurationClass = autoConfigurationClasses[i];
+            matches[i] = reactiveApi || autoConfigurationClass == null
+                    || !REACTIVE_AUTO_CONFIGURATIONS.contains(autoConfigurationClass);
+        }
+        return matches;
+    }
+}
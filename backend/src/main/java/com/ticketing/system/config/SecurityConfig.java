@@ -1,6 +1,7 @@
 package com.ticketing.system.config;
 
 import com.ticketing.system.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,9 +42,14 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches of event streams and error pages were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 // Public endpoints
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/v1/tickets").permitAll()
+                // Health checks and Prometheus scraping; served only on management.server.port,
+                // so the public port answers these paths with 404
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 // Agent management endpoints require MANAGER role (handled by @PreAuthorize)
                 .requestMatchers("/api/v1/agents/**").hasRole("MANAGER")
                 // All other endpoints require authentication
@@ -62,6 +68,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Query counts, sent with query-budget.headers on (dev profile)
+        configuration.setExposedHeaders(List.of("X-Mongo-Commands", "X-Elasticsearch-Calls"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,60 @@
+package com.ticketing.system.config;
+
+import com.ticketing.system.model.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SLA policy configuration (prefix "sla"), compiled by SlaPolicyEngine at startup.
+ */
+@Data
+@ConfigurationProperties(prefix = "sla")
+public class SlaPolicyProperties {
+
+    // Tier for customers whose email domain is not listed under tiers
+    private String defaultTier = "STANDARD";
+
+    // Tier name -> customer email domains in that tier
+    private Map<String, List<String>> tiers = new LinkedHashMap<>();
+
+    // Calendar name -> business hours; rules without a calendar count wall-clock time
+    private Map<String, BusinessHours> calendars = new LinkedHashMap<>();
+
+    // Checked in order; the first rule matching a ticket's tier and priority applies
+    private List<Rule> rules = new ArrayList<>();
+
+    // Minimum time between two escalations of the same ticket
+    private Duration escalationGrace = Duration.ofHours(1);
+
+    @Data
+    public static class BusinessHours {
+        private String zone = "UTC";
+        private List<String> days = new ArrayList<>(List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"));
+        private String start = "09:00";
+        private String end = "17:00";
+        // ISO dates (yyyy-MM-dd) with no business hours
+        private List<String> holidays = new ArrayList<>();
+    }
+
+    @Data
+    public static class Rule {
+        // Null matches every tier / priority
+        private String tier;
+        private Priority priority;
+
+        // Time allowed until an agent first responds (starts work or comments); null for none
+        private Duration firstResponse;
+
+        // Time allowed until the ticket is closed; null for none
+        private Duration resolution;
+
+        // Name of a calendar under sla.calendars; null for wall-clock time
+        private String calendar;
+    }
+}
@@ -0,0 +1,322 @@
+package com.ticketing.system.config;
+
+import com.ticketing.system.model.Activity;
+import com.ticketing.system.model.Comment;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.model.User;
+import com.ticketing.system.repository.TicketRepository;
+import com.ticketing.system.service.SlaEscalationService;
+import com.ticketing.system.service.TicketElasticsearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates seed tickets from DataGeneratorProperties, in parallel batches. Each batch
+ * draws from its own random stream, split from the seed in batch order, so the tickets
+ * do not depend on how batches are spread over threads. A batch is written with one
+ * unordered insertMany and one Elasticsearch _bulk request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketDataGenerator {
+
+    private static final String[] TITLES = {
+        "Cannot login to account", "Payment failed", "App crashing on startup",
+        "Password reset not working", "Unable to update profile", "Slow loading times",
+        "Error 500 on checkout", "Missing order confirmation", "Refund not processed",
+        "Cannot change email address", "Two-factor auth issues", "Account locked",
+        "Billing discrepancy", "Feature request: Dark mode", "Bug in search functionality",
+        "Mobile app not syncing", "Notifications not received", "Data export failing",
+        "Integration not working", "API rate limit issues", "Session timeout too short",
+        "Cannot delete account", "Duplicate charges", "Voucher code not working",
+        "Subscription cancellation failed", "Missing transaction history", "UI display issues",
+        "File upload not working", "Video playback error", "Chat support not loading",
+        "Language settings not saving", "Timezone incorrect", "Report generation slow",
+        "Dashboard not updating", "Email verification failed", "Cannot add payment method",
+        "Order tracking not working", "Shipping address update failed", "Wishlist sync issue",
+        "Reviews not posting", "Filters not working", "Sort functionality broken",
+        "Print function not working", "Export to PDF failing", "Calendar integration broken",
+        "Reminder notifications missing", "Auto-save not working", "Draft messages lost",
+        "Attachment download failed", "Link sharing not working"
+    };
+
+    private static final String[] DETAILS = {
+        "Customer is experiencing this problem and needs assistance.",
+        "It started after the latest update and happens every time.",
+        "The problem only occurs on the mobile app.",
+        "Several users in the same company report the same behaviour.",
+        "Clearing the cache and signing in again did not help.",
+        "It happens intermittently, mostly during business hours."
+    };
+
+    private static final String[] FIRST_NAMES = {
+        "Alice", "Bob", "Carol", "Dan", "Eve", "Frank", "Grace", "Henry", "Ivy", "Jack",
+        "Karen", "Liam", "Mia", "Noah", "Olivia", "Paul", "Quinn", "Rosa", "Sam", "Tina"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Cooper", "Martin", "White", "Brown", "Black", "Green", "Lee", "Taylor", "Chen", "Wilson",
+        "Garcia", "Miller", "Lopez", "Clark", "Young", "King", "Scott", "Adams", "Baker", "Hall"
+    };
+
+    private static final String[] CUSTOMER_DOMAINS = {"email.com", "example.org", "mail.net"};
+
+    private static final String[] WORK_COMMENTS = {
+        "I'm looking into this issue now.",
+        "Could you send a screenshot of the error?",
+        "I was able to reproduce this and have escalated it to engineering.",
+        "A fix is being rolled out, I will update you once it is live.",
+        "Thanks for the details, checking the logs now."
+    };
+
+    private static final Map<TicketStatus, String> CLOSING_COMMENTS = Map.of(
+        TicketStatus.RESOLVED, "Issue has been resolved. Please verify and let us know if you need further assistance.",
+        TicketStatus.INVALID, "After investigation, this appears to be a duplicate or not a valid issue."
+    );
+
+    private final DataGeneratorProperties properties;
+    private final TicketRepository ticketRepository;
+    private final TicketElasticsearchService ticketElasticsearchService;
+    private final SlaEscalationService slaEscalationService;
+
+    /**
+     * Generate and write the configured tickets, assigned to the given agents.
+     *
+     * @return number of tickets written
+     */
+    public long generate(List<User> agents, User manager) {
+        long assigned = agents.isEmpty() ? 0 : properties.getTickets();
+        long total = assigned + properties.getUnassignedTickets();
+        int batchSize = properties.getBatchSize();
+        long batches = (total + batchSize - 1) / batchSize;
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        Weights<TicketStatus> statuses = new Weights<>(properties.getStatuses());
+        Weights<Priority> priorities = new Weights<>(properties.getPriorities());
+        LocalDateTime now = LocalDateTime.now();
+
+        log.info("Generating {} tickets ({} unassigned) in {} batches on {} threads",
+                total, properties.getUnassignedTickets(), batches, threads);
+        long start = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+        AtomicLong batchesDone = new AtomicLong();
+        long progressEvery = Math.max(1, batches / 10);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "data-generator-" + threadNumber.incrementAndGet()));
+        try {
+            SplittableRandom seed = new SplittableRandom(properties.getSeed());
+            List<Future<?>> futures = new ArrayList<>();
+            for (long batch = 0; batch < batches; batch++) {
+                long first = batch * batchSize;
+                int count = (int) Math.min(batchSize, total - first);
+                SplittableRandom random = seed.split();
+                futures.add(executor.submit(() -> {
+                    List<Ticket> tickets = new ArrayList<>(count);
+                    for (long number = first; number < first + count; number++) {
+                        Ticket ticket = number < assigned
+                                ? assignedTicket(random, agents, manager, statuses, priorities, now)
+                                : unassignedTicket(random, number - assigned, now);
+                        // Written with its deadline and partition, like tickets created through the API
+                        slaEscalationService.applySlaDeadline(ticket);
+                        tickets.add(ticket);
+                    }
+                    ticketRepository.insertTickets(tickets);
+                    ticketElasticsearchService.indexTickets(tickets);
+                    tickets.forEach(slaEscalationService::scheduleSlaDeadline);
+                    written.addAndGet(count);
+                    if (batchesDone.incrementAndGet() % progressEvery == 0) {
+                        log.info("Generated {} of {} tickets", written.get(), total);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ticket generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ticket generation failed after " + written.get() + " tickets", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // So the index count matches right away and ElasticsearchIndexInitializer does not reindex
+        ticketElasticsearchService.refreshIndex();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Generated {} tickets in {}s ({} tickets/s)", written.get(), String.format("%.1f", seconds),
+                Math.round(written.get() / Math.max(seconds, 0.001)));
+        return written.get();
+    }
+
+    private Ticket assignedTicket(SplittableRandom random, List<User> agents, User manager,
+                                  Weights<TicketStatus> statuses, Weights<Priority> priorities, LocalDateTime now) {
+        User agent = agents.get(random.nextInt(agents.size()));
+        TicketStatus status = statuses.pick(random);
+        Ticket ticket = newTicket(random, now);
+        ticket.setStatus(status);
+        ticket.setPriority(priorities.pick(random));
+        ticket.setAssignedAgentId(agent.getId());
+        ticket.setAssignedAgentName(agent.getName());
+
+        // Each step happens some time after the one before it
+        LocalDateTime assignedAt = later(random, ticket.getCreatedAt(), now);
+        ticket.getActivities().add(activity(random, manager, "TICKET_ASSIGNED", "Ticket assigned to " + agent.getName(), assignedAt));
+        ticket.setUpdatedAt(assignedAt);
+        if (status == TicketStatus.NOT_STARTED) {
+            return ticket;
+        }
+
+        LocalDateTime startedAt = later(random, assignedAt, now);
+        ticket.getActivities().add(activity(random, agent, "STATUS_CHANGED", "Status changed from NOT_STARTED to IN_PROGRESS", startedAt));
+        ticket.setFirstRespondedAt(startedAt);
+        ticket.setUpdatedAt(startedAt);
+
+        LocalDateTime commentedAt = startedAt;
+        int comments = random.nextInt(2 * properties.getCommentsPerTicket() + 1);
+        for (int i = 0; i < comments; i++) {
+            commentedAt = later(random, commentedAt, now);
+            ticket.getComments().add(comment(random, agent, WORK_COMMENTS[random.nextInt(WORK_COMMENTS.length)], commentedAt));
+            ticket.setUpdatedAt(commentedAt);
+        }
+
+        if (status == TicketStatus.RESOLVED || status == TicketStatus.INVALID) {
+            LocalDateTime closedAt = later(random, commentedAt, now);
+            ticket.getComments().add(comment(random, agent, CLOSING_COMMENTS.get(status), closedAt));
+            ticket.getActivities().add(activity(random, agent, "STATUS_CHANGED", "Status changed from IN_PROGRESS to " + status, closedAt));
+            ticket.setClosedAt(closedAt);
+            ticket.setUpdatedAt(closedAt);
+        }
+        return ticket;
+    }
+
+    private Ticket unassignedTicket(SplittableRandom random, long number, LocalDateTime now) {
+        Ticket ticket = newTicket(random, now);
+        // No priority and no agent, so a manager has to triage it
+        ticket.setStatus(TicketStatus.NOT_STARTED);
+        ticket.setCustomerName("Unassigned Customer " + (number + 1));
+        ticket.setCustomerEmail("unassigned" + (number + 1) + "@email.com");
+        ticket.setUpdatedAt(ticket.getCreatedAt());
+        return ticket;
+    }
+
+    private Ticket newTicket(SplittableRandom random, LocalDateTime now) {
+        // Older tickets are rarer when age-skew is above 1
+        long maxAgeSeconds = properties.getMaxAge().toSeconds();
+        long ageSeconds = (long) (Math.pow(random.nextDouble(), properties.getAgeSkew()) * maxAgeSeconds);
+        LocalDateTime createdAt = now.minusSeconds(ageSeconds);
+
+        String title = TITLES[random.nextInt(TITLES.length)];
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String domain = CUSTOMER_DOMAINS[random.nextInt(CUSTOMER_DOMAINS.length)];
+
+        Ticket ticket = Ticket.builder()
+                // _id order follows creation time, as for tickets created through the API
+                .id(new ObjectId(Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant())).toHexString())
+                .title(title)
+                .description("Detailed description for issue: " + title + ". " + DETAILS[random.nextInt(DETAILS.length)])
+                .customerName(firstName + " " + lastName)
+                .customerEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + random.nextInt(1000) + "@" + domain)
+                .createdAt(createdAt)
+                .autoAssigned(false)
+                .build();
+        ticket.getActivities().add(Activity.builder()
+                .id(id(random))
+                .userId("SYSTEM")
+                .userName("System")
+                .action("TICKET_CREATED")
+                .details("Ticket created by customer: " + ticket.getCustomerName())
+                .timestamp(createdAt)
+                .build());
+        return ticket;
+    }
+
+    private static Activity activity(SplittableRandom random, User user, String action, String details, LocalDateTime timestamp) {
+        return Activity.builder()
+                .id(id(random))
+                .userId(user.getId())
+                .userName(user.getName())
+                .action(action)
+                .details(details)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static Comment comment(SplittableRandom random, User user, String content, LocalDateTime createdAt) {
+        return Comment.builder()
+                .id(id(random))
+                .userId(user.getId())
+                .userName(user.getName())
+                .content(content)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    // A random point in the first half of the time left until now
+    private static LocalDateTime later(SplittableRandom random, LocalDateTime after, LocalDateTime now) {
+        long remaining = Duration.between(after, now).toSeconds();
+        return remaining > 1 ? after.plusSeconds(random.nextLong(remaining / 2 + 1)) : after;
+    }
+
+    // From the batch's random stream rather than UUID.randomUUID(), which draws on a shared SecureRandom
+    private static String id(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    /**
+     * Weighted choice among enum values.
+     */
+    private static final class Weights<E> {
+        private final List<E> values = new ArrayList<>();
+        private final List<Integer> cumulative = new ArrayList<>();
+        private final int total;
+
+        private Weights(Map<E, Integer> weights) {
+            int sum = 0;
+            for (Map.Entry<E, Integer> entry : weights.entrySet()) {
+                if (entry.getValue() != null && entry.getValue() > 0) {
+                    sum += entry.getValue();
+                    values.add(entry.getKey());
+                    cumulative.add(sum);
+                }
+            }
+            if (sum == 0) {
+                throw new IllegalStateException("data-generator weights need at least one positive weight: " + weights);
+            }
+            this.total = sum;
+        }
+
+        private E pick(SplittableRandom random) {
+            int roll = random.nextInt(total);
+            for (int i = 0; i < values.size(); i++) {
+                if (roll < cumulative.get(i)) {
+                    return values.get(i);
+                }
+            }
+            throw new IllegalStateException("Roll beyond total weight");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ticketing.system.config;
+
+import com.ticketing.system.util.QueryBudgetCallableInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Streamed ticket lists and exports query MongoDB on the async thread
+        configurer.registerCallableInterceptors(new QueryBudgetCallableInterceptor());
+    }
+}
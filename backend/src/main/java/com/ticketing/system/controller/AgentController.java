@@ -5,7 +5,9 @@ import com.ticketing.system.dto.AgentWorkloadResponse;
 import com.ticketing.system.dto.UserResponse;
 import com.ticketing.system.model.AgentWorkload;
 import com.ticketing.system.service.TicketAutoAssignmentService;
+import com.ticketing.system.service.TicketChangeTracker;
 import com.ticketing.system.service.UserService;
+import com.ticketing.system.util.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +30,7 @@ public class AgentController {
 
     private final TicketAutoAssignmentService autoAssignmentService;
     private final UserService userService;
+    private final TicketChangeTracker changeTracker;
 
     /**
      * Get all agents
@@ -53,7 +57,10 @@ public class AgentController {
      * GET /api/v1/agents/workloads
      */
     @GetMapping("/workloads")
-    public ResponseEntity<List<AgentWorkloadResponse>> getAgentWorkloads() {
+    public ResponseEntity<List<AgentWorkloadResponse>> getAgentWorkloads(ServletWebRequest webRequest) {
+        if (ConditionalGet.checkNotModified(webRequest, changeTracker.workloadsTag())) {
+            return null;
+        }
         List<AgentWorkload> workloads = autoAssignmentService.getAgentWorkloads();
 
         List<AgentWorkloadResponse> responses = workloads.stream()
@@ -68,7 +75,10 @@ public class AgentController {
      * GET /api/v1/agents/{agentId}/workload
      */
     @GetMapping("/{agentId}/workload")
-    public ResponseEntity<AgentWorkloadResponse> getAgentWorkload(@PathVariable String agentId) {
+    public ResponseEntity<AgentWorkloadResponse> getAgentWorkload(@PathVariable String agentId, ServletWebRequest webRequest) {
+        if (ConditionalGet.checkNotModified(webRequest, changeTracker.workloadsTag())) {
+            return null;
+        }
         List<AgentWorkload> workloads = autoAssignmentService.getAgentWorkloads();
 
         Optional<AgentWorkload> agentWorkload = workloads.stream()
@@ -0,0 +1,104 @@
+package com.ticketing.system.controller;
+
+import com.ticketing.system.dto.FlightRecordingResponse;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('MANAGER')")
+public class DiagnosticsController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * Start a Java Flight Recorder recording on this node
+     * POST /api/v1/diagnostics/recording?settings=profile&duration=5m
+     *
+     * settings is a JDK settings file (default or profile); without a duration the
+     * recording runs until stopped.
+     */
+    @PostMapping("/recording")
+    public ResponseEntity<FlightRecordingResponse> startRecording(
+            @RequestParam(defaultValue = "default") String settings,
+            @RequestParam(required = false) String duration) {
+        Duration recordingDuration = null;
+        if (duration != null) {
+            try {
+                recordingDuration = DurationStyle.detectAndParse(duration);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException("Invalid duration: " + duration, HttpStatus.BAD_REQUEST);
+            }
+            if (recordingDuration.isNegative() || recordingDuration.isZero()) {
+                throw new ApiException("Duration must be positive", HttpStatus.BAD_REQUEST);
+            }
+        }
+        return ResponseEntity.ok(flightRecordingService.start(settings, recordingDuration));
+    }
+
+    /**
+     * Get the state of the current recording
+     * GET /api/v1/diagnostics/recording
+     */
+    @GetMapping("/recording")
+    public ResponseEntity<FlightRecordingResponse> getRecording() {
+        return ResponseEntity.ok(flightRecordingService.getStatus());
+    }
+
+    /**
+     * Download what has been recorded so far as a .jfr file, for JDK Mission Control or `jfr print`
+     * GET /api/v1/diagnostics/recording/dump
+     */
+    @GetMapping("/recording/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() throws IOException {
+        Path file = flightRecordingService.dump();
+        long size = Files.size(file);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+
+        String filename = "ticketing-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Stop the current recording and discard its data
+     * DELETE /api/v1/diagnostics/recording
+     */
+    @DeleteMapping("/recording")
+    public ResponseEntity<Void> stopRecording() {
+        flightRecordingService.stop();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ticketing.system.controller;
+
+import com.ticketing.system.dto.TicketResponse;
+import com.ticketing.system.dto.TicketSearchResponse;
+import com.ticketing.system.dto.TicketSummaryResponse;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.security.UserPrincipal;
+import com.ticketing.system.service.ReactiveTicketQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking variant of the TicketController read endpoints, enabled with
+ * reactive-api.enabled=true. Ticket lists stream as newline-delimited JSON, one
+ * summary per line, written as the client reads them.
+ */
+@RestController
+@RequestMapping("/api/v1/rx/tickets")
+@ConditionalOnProperty(name = "reactive-api.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTicketController {
+
+    private final ReactiveTicketQueryService queryService;
+
+    /**
+     * Stream tickets - all tickets (manager) or assigned tickets (agent)
+     * GET /api/v1/rx/tickets
+     * GET /api/v1/rx/tickets?assigned=false - Unassigned tickets (manager only)
+     *
+     * Agents' tickets come HIGH priority first; clients group them by status themselves
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TicketSummaryResponse> streamTickets(
+            @RequestParam(required = false) Boolean assigned,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        boolean isManager = isManager(principal);
+
+        if (assigned != null && !assigned) {
+            if (!isManager) {
+                throw new ApiException("Access denied", HttpStatus.FORBIDDEN);
+            }
+            return queryService.streamUnassignedTicketSummaries();
+        }
+
+        return isManager
+                ? queryService.streamAllTicketSummaries()
+                : queryService.streamTicketSummariesForAgent(principal.getId());
+    }
+
+    /**
+     * Search tickets, one page at a time
+     * GET /api/v1/rx/tickets/search?query=searchText
+     */
+    @GetMapping("/search")
+    public Mono<TicketSearchResponse> searchTickets(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return queryService.searchTickets(isManager(principal) ? null : principal.getId(), query, page, size);
+    }
+
+    /**
+     * Autocomplete search for tickets
+     * GET /api/v1/rx/tickets/autocomplete?query=searchText
+     */
+    @GetMapping("/autocomplete")
+    public Mono<Map<String, Object>> autocompleteSearch(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "5") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return queryService.autocomplete(isManager(principal) ? null : principal.getId(), query, limit);
+    }
+
+    /**
+     * Get single ticket details
+     * GET /api/v1/rx/tickets/{ticketId}
+     */
+    @GetMapping("/{ticketId}")
+    public Mono<TicketResponse> getTicketDetails(
+            @PathVariable String ticketId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return queryService.getTicketDetails(ticketId, principal.getId());
+    }
+
+    private static boolean isManager(UserPrincipal principal) {
+        return principal.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.ticketing.system.controller;
+
+import com.ticketing.system.security.UserPrincipal;
+import com.ticketing.system.service.EventStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/stream")
+@RequiredArgsConstructor
+public class StreamController {
+
+    private final EventStreamService eventStreamService;
+
+    /**
+     * Server-Sent Events stream of ticket changes ("ticket") and, for managers, agent
+     * workload deltas ("workload")
+     * GET /api/v1/stream
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal principal) {
+        boolean isManager = principal.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
+        return eventStreamService.subscribe(principal.getId(), isManager);
+    }
+}
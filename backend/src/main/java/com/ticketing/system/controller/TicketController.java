@@ -1,21 +1,40 @@
 package com.ticketing.system.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.ticketing.system.dto.AddCommentRequest;
 import com.ticketing.system.dto.AssignTicketRequest;
 import com.ticketing.system.dto.AutoAssignResponse;
+import com.ticketing.system.dto.BulkTicketUpdateRequest;
+import com.ticketing.system.dto.BulkTicketUpdateResponse;
 import com.ticketing.system.dto.CreateTicketRequest;
 import com.ticketing.system.dto.TicketResponse;
 import com.ticketing.system.dto.TicketSearchResponse;
 import com.ticketing.system.dto.TicketSummaryResponse;
 import com.ticketing.system.dto.UpdatePriorityRequest;
 import com.ticketing.system.dto.UpdateStatusRequest;
+import com.ticketing.system.exception.ApiException;
 import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
 import com.ticketing.system.security.UserPrincipal;
 import com.ticketing.system.service.SlaEscalationService;
 import com.ticketing.system.service.TicketAutoAssignmentService;
+import com.ticketing.system.service.TicketBulkUpdateService;
+import com.ticketing.system.service.TicketChangeTracker;
+import com.ticketing.system.service.TicketExportService;
+import com.ticketing.system.service.TicketImportService;
+import com.ticketing.system.service.TicketIngestionService;
 import com.ticketing.system.service.TicketService;
+import com.ticketing.system.util.ConditionalGet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -24,13 +43,23 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/tickets")
@@ -40,25 +69,37 @@ public class TicketController {
     private final TicketService ticketService;
     private final TicketAutoAssignmentService autoAssignmentService;
     private final SlaEscalationService slaEscalationService;
+    private final TicketBulkUpdateService bulkUpdateService;
+    private final TicketIngestionService ingestionService;
+    private final TicketImportService importService;
+    private final TicketExportService exportService;
+    private final TicketChangeTracker changeTracker;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create a new ticket (public endpoint for customer app integration)
      * POST /api/v1/tickets
+     *
+     * With ingestion.mode=batched: 202 once queued, or 429 while the queue is full
      */
     @PostMapping
     public ResponseEntity<TicketResponse> createTicket(@Valid @RequestBody CreateTicketRequest request) {
+        if (ingestionService.isBatched()) {
+            // Queued for the next batched write; the returned ID is final
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ingestionService.submit(request));
+        }
         TicketResponse response = ticketService.createTicket(request);
         return ResponseEntity.ok(response);
     }
 
     /**
      * Get tickets - behavior based on role and query parameters
-     * GET /api/v1/tickets - Get all tickets (manager) or assigned tickets (agent)
-     * GET /api/v1/tickets?assigned=false - Get unassigned tickets (manager only)
      * GET /api/v1/tickets?query=searchText - Search tickets
      * GET /api/v1/tickets?grouped=true - Get tickets grouped by status (agent only)
      * 
-     * Returns lightweight TicketSummaryResponse for list views
+     * Returns lightweight TicketSummaryResponse for list views. Any other request that
+     * carries these parameters (a blank query, grouped=false, or grouped=true from a
+     * manager) gets the plain ticket list, as if the parameter were absent.
      */
     @GetMapping
     public ResponseEntity<?> getTickets(
@@ -67,7 +108,9 @@ public class TicketController {
             @RequestParam(required = false) Boolean grouped,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @AuthenticationPrincipal UserPrincipal principal) {
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @AuthenticationPrincipal UserPrincipal principal,
+            ServletWebRequest webRequest) {
         
         boolean isManager = principal.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
@@ -83,29 +126,80 @@ public class TicketController {
             }
         }
 
-        // Get unassigned tickets (manager only)
-        if (assigned != null && !assigned) {
-            if (!isManager) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-            List<TicketSummaryResponse> tickets = ticketService.getUnassignedTicketSummaries();
-            return ResponseEntity.ok(tickets);
-        }
-
         // Get tickets grouped by status (agent only)
         if (grouped != null && grouped && !isManager) {
+            // Unchanged since the client's copy: answered without reading any tickets
+            if (ConditionalGet.checkNotModified(webRequest, changeTracker.agentTicketsTag(principal.getId()))) {
+                return null;
+            }
             Map<String, List<TicketSummaryResponse>> tickets = ticketService.getTicketSummariesGroupedByStatus(principal.getId());
             return ResponseEntity.ok(tickets);
         }
 
-        // Get all tickets based on role
-        if (isManager) {
-            List<TicketSummaryResponse> tickets = ticketService.getAllTicketSummaries();
-            return ResponseEntity.ok(tickets);
-        } else {
-            List<TicketSummaryResponse> tickets = ticketService.getTicketSummariesForAgent(principal.getId());
-            return ResponseEntity.ok(tickets);
+        // Nothing to search or group by: the same list, streamed, as without the parameters
+        return streamTickets(assigned, accept, principal, webRequest);
+    }
+
+    /**
+     * Ticket lists, streamed - all tickets (manager) or assigned tickets (agent)
+     * GET /api/v1/tickets
+     * GET /api/v1/tickets?assigned=false - Get unassigned tickets (manager only)
+     *
+     * Same JSON array as getTickets, written while the tickets are read from MongoDB.
+     * With Accept: application/x-ndjson, one summary per line instead.
+     */
+    @GetMapping(params = {"!query", "!grouped"})
+    public ResponseEntity<StreamingResponseBody> streamTickets(
+            @RequestParam(required = false) Boolean assigned,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @AuthenticationPrincipal UserPrincipal principal,
+            ServletWebRequest webRequest) {
+
+        boolean isManager = principal.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
+        boolean unassigned = assigned != null && !assigned;
+        if (unassigned && !isManager) {
+            throw new ApiException("Access denied", HttpStatus.FORBIDDEN);
         }
+
+        // Taken before the cursor is opened, so a change made while streaming makes it stale
+        String etag = unassigned ? changeTracker.unassignedTicketsTag()
+                : isManager ? changeTracker.allTicketsTag()
+                : changeTracker.agentTicketsTag(principal.getId());
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        MediaType format = ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        if (ConditionalGet.checkNotModified(webRequest, etag, format)) {
+            return null;
+        }
+
+        // Flushing is left to the output buffers rather than done after every ticket
+        ObjectWriter objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        String agentId = principal.getId();
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = ndjson
+                    ? objectWriter.withRootValueSeparator("\n").writeValues(outputStream)
+                    : objectWriter.writeValuesAsArray(outputStream)) {
+                if (unassigned) {
+                    ticketService.writeUnassignedTicketSummaries(writer);
+                } else if (isManager) {
+                    ticketService.writeAllTicketSummaries(writer);
+                } else {
+                    ticketService.writeTicketSummariesForAgent(agentId, writer);
+                }
+            }
+            if (ndjson) {
+                outputStream.write('\n');
+            }
+        };
+
+        // ETag, Cache-Control and Vary were set by the not-modified check
+        return ResponseEntity.ok()
+                .contentType(format)
+                .body(body);
     }
 
     /**
@@ -174,7 +268,18 @@ public class TicketController {
             @PathVariable String ticketId,
             @AuthenticationPrincipal UserPrincipal principal) {
         TicketResponse ticket = ticketService.getTicketDetails(ticketId, principal.getId());
-        return ResponseEntity.ok(ticket);
+        if (ticket.getUpdatedAt() == null) {
+            return ResponseEntity.ok(ticket);
+        }
+
+        // Every change to a ticket sets updatedAt (stored to the millisecond); a matching
+        // If-None-Match gets a 304 before the body is serialized
+        long updatedAt = ticket.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return ResponseEntity.ok()
+                .eTag("\"" + updatedAt + "\"")
+                .lastModified(updatedAt)
+                .cacheControl(ConditionalGet.REVALIDATE)
+                .body(ticket);
     }
 
     /**
@@ -231,6 +336,96 @@ public class TicketController {
         return ResponseEntity.ok(ticket);
     }
 
+    /**
+     * Apply priority, assignment and status changes to many tickets at once
+     * POST /api/v1/tickets/bulk
+     *
+     * Each mutation is checked like its single-ticket endpoint (priority and assignment
+     * for managers, status for the assigned agent) and gets its own result
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTicketUpdateResponse> bulkUpdate(
+            @Valid @RequestBody BulkTicketUpdateRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        BulkTicketUpdateResponse response = bulkUpdateService.applyMutations(request.getMutations(), principal.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import tickets from an NDJSON or CSV (with header row) body (manager only)
+     * POST /api/v1/tickets/import
+     *
+     * Responds with NDJSON while the import runs: errors per rejected line and progress per batch
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseBodyEmitter importTickets(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        return importService.importTickets(body, csv, principal.getId());
+    }
+
+    /**
+     * Export tickets as CSV (with header row) or NDJSON (manager only)
+     * GET /api/v1/tickets/export?format=csv&status=RESOLVED&agentId=...&from=2024-01-01T00:00:00&to=...
+     *
+     * Filters are optional; from is inclusive and to exclusive, both on createdAt.
+     * includeActivities=true adds each ticket's activity history (NDJSON only).
+     * Gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) List<TicketStatus> status,
+            @RequestParam(required = false) String agentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeActivities,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        boolean csv;
+        if (format.equalsIgnoreCase("csv")) {
+            csv = true;
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            csv = false;
+        } else {
+            throw new ApiException("Format must be csv or ndjson", HttpStatus.BAD_REQUEST);
+        }
+        if (csv && includeActivities) {
+            throw new ApiException("Activities can only be exported as NDJSON", HttpStatus.BAD_REQUEST);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ApiException("from must be before to", HttpStatus.BAD_REQUEST);
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(outputStream, 8192);
+                exportService.writeExport(compressed, csv, status, agentId, from, to, includeActivities);
+                // Writes the gzip trailer; the response stream itself is closed by the container
+                compressed.finish();
+            } else {
+                exportService.writeExport(outputStream, csv, status, agentId, from, to, includeActivities);
+            }
+        };
+
+        String filename = "tickets-" + LocalDate.now() + (csv ? ".csv" : ".ndjson");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     /**
      * Manually trigger SLA escalation check (manager only - for testing)
      * POST /api/v1/tickets/sla-escalation
@@ -238,7 +433,7 @@ public class TicketController {
     @PostMapping("/sla-escalation")
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<String> triggerSlaEscalation() {
-        slaEscalationService.escalateOverdueTickets();
+        slaEscalationService.escalateAllOverdueTickets();
         return ResponseEntity.ok("SLA escalation check completed");
     }
 
@@ -255,4 +450,35 @@ public class TicketController {
                 .updatedAt(ticket.getUpdatedAt())
                 .build();
     }
+
+    // gzip (or x-gzip, or *) listed with a q-value above 0; "gzip;q=0" refuses it, and an
+    // explicit gzip entry takes precedence over *
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return gzipQuality != null ? gzipQuality > 0 : anyQuality != null && anyQuality > 0;
+    }
 }
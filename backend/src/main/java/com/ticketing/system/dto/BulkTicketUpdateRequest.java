@@ -0,0 +1,15 @@
+package com.ticketing.system.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTicketUpdateRequest {
+    @NotEmpty(message = "At least one mutation is required")
+    @Size(max = 500, message = "At most 500 mutations per request")
+    private List<@Valid TicketMutation> mutations;
+}
@@ -0,0 +1,19 @@
+package com.ticketing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketUpdateResponse {
+    private int ticketsUpdated;
+    private int ticketsFailed;
+    // In request order
+    private List<BulkTicketUpdateResult> results;
+}
@@ -0,0 +1,22 @@
+package com.ticketing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one mutation in a bulk update: the updated ticket, or the HTTP status and
+ * message the single-ticket endpoint would have answered with.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketUpdateResult {
+    private String ticketId;
+    private boolean success;
+    private int status;
+    private String message;
+    private TicketSummaryResponse ticket;
+}
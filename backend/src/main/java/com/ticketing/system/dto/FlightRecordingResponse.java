@@ -0,0 +1,23 @@
+package com.ticketing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingResponse {
+    private long id;
+    private String name;
+    private String state;
+    private String settings;
+    private Instant startedAt;
+    // Null for a recording that runs until stopped
+    private String duration;
+    private long sizeBytes;
+}
@@ -0,0 +1,47 @@
+package com.ticketing.system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.ticketing.system.model.Activity;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One ticket of an export: a CSV row or an NDJSON line. Activities are only set
+ * for NDJSON exports that ask for them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"id", "title", "description", "status", "priority", "assignedAgentId", "assignedAgentName",
+        "customerName", "customerEmail", "customerTier", "autoAssigned", "createdAt", "updatedAt",
+        "firstRespondedAt", "closedAt", "slaDeadline", "activities"})
+public class TicketExportRow {
+    private String id;
+    private String title;
+    private String description;
+    private TicketStatus status;
+    private Priority priority;
+    private String assignedAgentId;
+    private String assignedAgentName;
+    private String customerName;
+    private String customerEmail;
+    private String customerTier;
+    private boolean autoAssigned;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime firstRespondedAt;
+    private LocalDateTime closedAt;
+    private LocalDateTime slaDeadline;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Activity> activities;
+}
@@ -0,0 +1,25 @@
+package com.ticketing.system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a ticket import's NDJSON response: an "error" for a rejected line, a
+ * "progress" report after each written batch, and a final "done" (or "failed").
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketImportMessage {
+    private String type;
+    private Long line;
+    private String message;
+    private Long recordsRead;
+    private Long imported;
+    private Long failed;
+}
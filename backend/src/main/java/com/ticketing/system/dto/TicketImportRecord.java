@@ -0,0 +1,40 @@
+package com.ticketing.system.dto;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.TicketStatus;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ticket of an import file: an NDJSON line or a CSV row with these column names.
+ */
+@Data
+public class TicketImportRecord {
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    @NotBlank(message = "Customer email is required")
+    @Email(message = "Invalid email format")
+    private String customerEmail;
+
+    @NotBlank(message = "Customer name is required")
+    private String customerName;
+
+    // Defaults to NOT_STARTED
+    private TicketStatus status;
+
+    private Priority priority;
+
+    // Email of an existing agent
+    private String assignedAgentEmail;
+
+    // Default to the time of the import
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+}
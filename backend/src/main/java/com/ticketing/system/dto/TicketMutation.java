@@ -0,0 +1,22 @@
+package com.ticketing.system.dto;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.TicketStatus;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Changes to one ticket in a bulk update. Fields left out are not changed; they are
+ * applied in the order priority, assignment, status.
+ */
+@Data
+public class TicketMutation {
+    @NotBlank(message = "Ticket ID is required")
+    private String ticketId;
+
+    private Priority priority;
+
+    private String agentId;
+
+    private TicketStatus status;
+}
@@ -0,0 +1,20 @@
+package com.ticketing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ticket change pushed on the event stream ("ticket" events).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStreamMessage {
+    private String type;
+    private TicketSummaryResponse ticket;
+    // Set when the ticket moved away from this agent
+    private String previousAgentId;
+}
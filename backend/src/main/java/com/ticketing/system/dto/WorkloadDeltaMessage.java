@@ -0,0 +1,25 @@
+package com.ticketing.system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change to one agent's workload pushed on the event stream ("workload" events, managers only).
+ * Each count is a difference to add to the agent's current AgentWorkloadResponse.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadDeltaMessage {
+    private String agentId;
+    private int notStartedCount;
+    private int inProgressCount;
+    private int totalActiveTickets;
+    private int highPriorityCount;
+    private int mediumPriorityCount;
+    private int lowPriorityCount;
+    private double workloadScore;
+}
@@ -0,0 +1,15 @@
+package com.ticketing.system.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Published when this node takes over SLA partitions, either at startup or from a node that went away.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PartitionsAcquiredEvent {
+    private final Set<Integer> partitions;
+}
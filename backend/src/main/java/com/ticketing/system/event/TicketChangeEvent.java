@@ -0,0 +1,30 @@
+package com.ticketing.system.event;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a ticket change is saved. Carries the saved ticket and the assignee,
+ * status and priority it had before, so listeners can tell what moved.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TicketChangeEvent {
+
+    public enum ChangeType {
+        CREATED, ASSIGNED, PRIORITY_CHANGED, STATUS_CHANGED, COMMENTED, ESCALATED
+    }
+
+    private final ChangeType type;
+    private final Ticket ticket;
+    private final String previousAgentId;
+    private final TicketStatus previousStatus;
+    private final Priority previousPriority;
+
+    public static TicketChangeEvent created(Ticket ticket) {
+        return new TicketChangeEvent(ChangeType.CREATED, ticket, null, null, null);
+    }
+}
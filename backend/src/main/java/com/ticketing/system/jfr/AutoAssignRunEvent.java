@@ -0,0 +1,52 @@
+package com.ticketing.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of auto-assignment over all unassigned tickets.
+ */
+@Name("com.ticketing.AutoAssignRun")
+@Label("Auto-Assign Run")
+@Category({"Ticketing", "Assignment"})
+@Description("Auto-assignment of all unassigned tickets with a priority")
+@StackTrace(false)
+public class AutoAssignRunEvent extends Event {
+
+    @Label("Unassigned Tickets")
+    int unassignedTickets;
+
+    @Label("Assigned Tickets")
+    int assignedTickets;
+
+    @Label("MongoDB Commands")
+    @Description("Commands sent by the run's thread, including per-agent workload queries")
+    long mongoCommands;
+
+    /**
+     * Start timing a run. When no recording has the event enabled this costs nothing.
+     */
+    public static AutoAssignRunEvent start() {
+        AutoAssignRunEvent event = new AutoAssignRunEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event, if a recording wants it.
+     */
+    public void finish(int unassignedTickets, int assignedTickets, long mongoCommands) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.unassignedTickets = unassignedTickets;
+        this.assignedTickets = assignedTickets;
+        this.mongoCommands = mongoCommands;
+        commit();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ticketing.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * An Elasticsearch search or count. The event duration is the time seen by the client;
+ * the gap to Elasticsearch's own took time is network, queueing and response parsing.
+ * Like the slow-operation log, it carries the shape of the query but not its text.
+ */
+@Name("com.ticketing.SearchExecuted")
+@Label("Search Executed")
+@Category({"Ticketing", "Search"})
+@Description("Elasticsearch autocomplete, search or count, timed from the client")
+@StackTrace(false)
+public class SearchExecutedEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Scope")
+    @Description("agent for one agent's tickets, all for a manager search")
+    String scope;
+
+    @Label("Agent ID")
+    String agentId;
+
+    @Label("Query Length")
+    int queryLength;
+
+    @Label("Query Terms")
+    int queryTerms;
+
+    @Label("From")
+    int from;
+
+    @Label("Size")
+    int size;
+
+    @Label("Hits")
+    long hits;
+
+    @Label("Elasticsearch Took")
+    @Description("Time Elasticsearch reports for the search; -1 for counts, which do not report it")
+    @Timespan(Timespan.MILLISECONDS)
+    long tookMillis;
+
+    /**
+     * Start timing a search. When no recording has the event enabled this costs nothing.
+     */
+    public static SearchExecutedEvent start() {
+        SearchExecutedEvent event = new SearchExecutedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event, if a recording wants it.
+     */
+    public void finish(String operation, String scope, String agentId, String query, int from, int size,
+                       long hits, long tookMillis) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.operation = operation;
+        this.scope = scope;
+        this.agentId = agentId;
+        this.queryLength = query != null ? query.length() : 0;
+        this.queryTerms = query != null && !query.isBlank() ? query.trim().split("\\s+").length : 0;
+        this.from = from;
+        this.size = size;
+        this.hits = hits;
+        this.tookMillis = tookMillis;
+        commit();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ticketing.system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One SLA escalation pass: tickets due on the deadline wheel, or an overdue sweep.
+ */
+@Name("com.ticketing.SlaSweep")
+@Label("SLA Sweep")
+@Category({"Ticketing", "SLA"})
+@Description("SLA escalation of tickets past their deadline")
+@StackTrace(false)
+public class SlaSweepEvent extends Event {
+
+    @Label("Trigger")
+    @Description("deadline for tickets due on the deadline wheel, sweep for the overdue scan")
+    String trigger;
+
+    @Label("All Partitions")
+    @Description("Whether a sweep covered every partition (manual trigger) or only this node's")
+    boolean allPartitions;
+
+    @Label("Scanned Tickets")
+    int scanned;
+
+    @Label("Escalated Tickets")
+    int escalated;
+
+    /**
+     * Start timing a pass. When no recording has the event enabled this costs nothing.
+     */
+    public static SlaSweepEvent start(String trigger, boolean allPartitions) {
+        SlaSweepEvent event = new SlaSweepEvent();
+        event.begin();
+        event.trigger = trigger;
+        event.allPartitions = allPartitions;
+        return event;
+    }
+
+    /**
+     * Commit the event, if a recording wants it.
+     */
+    public void finish(int scanned, int escalated) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.scanned = scanned;
+        this.escalated = escalated;
+        commit();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ticketing.system.jfr;
+
+import com.ticketing.system.model.Activity;
+import com.ticketing.system.model.Comment;
+import com.ticketing.system.model.Ticket;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A ticket create, assign, priority, status or comment call, from entering the service
+ * to the ticket being saved and indexed. Only successful calls are committed.
+ */
+@Name("com.ticketing.TicketMutation")
+@Label("Ticket Mutation")
+@Category({"Ticketing", "Tickets"})
+@Description("Ticket create, assign, priority, status or comment, including the MongoDB save and Elasticsearch index")
+@StackTrace(false)
+public class TicketMutationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Ticket ID")
+    String ticketId;
+
+    @Label("User ID")
+    @Description("Manager or agent making the change; absent for tickets created by customers")
+    String userId;
+
+    @Label("Comments")
+    int comments;
+
+    @Label("Activities")
+    int activities;
+
+    @Label("Document Text Length")
+    @Description("Characters of title, description, comments and activity details; tracks the stored document size")
+    long documentChars;
+
+    /**
+     * Start timing a mutation. When no recording has the event enabled this costs nothing.
+     */
+    public static TicketMutationEvent start(String operation, String userId) {
+        TicketMutationEvent event = new TicketMutationEvent();
+        event.begin();
+        event.operation = operation;
+        event.userId = userId;
+        return event;
+    }
+
+    /**
+     * Commit the event for the saved ticket, if a recording wants it.
+     */
+    public void finish(Ticket ticket) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        ticketId = ticket.getId();
+        comments = ticket.getComments() != null ? ticket.getComments().size() : 0;
+        activities = ticket.getActivities() != null ? ticket.getActivities().size() : 0;
+        documentChars = length(ticket.getTitle()) + length(ticket.getDescription());
+        if (ticket.getComments() != null) {
+            for (Comment comment : ticket.getComments()) {
+                documentChars += length(comment.getContent());
+            }
+        }
+        if (ticket.getActivities() != null) {
+            for (Activity activity : ticket.getActivities()) {
+                documentChars += length(activity.getDetails());
+            }
+        }
+        commit();
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ticketing.system.loadtest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.CountRequest;
+import co.elastic.clients.elasticsearch.core.CountResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
+import co.elastic.clients.elasticsearch.indices.DeleteIndexResponse;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.elasticsearch.indices.RefreshRequest;
+import co.elastic.clients.elasticsearch.indices.RefreshResponse;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import com.ticketing.system.model.TicketDocument;
+
+import java.util.List;
+
+/**
+ * ElasticsearchClient for the loadtest profile, answering the calls the application
+ * makes against InMemoryTicketIndex: search and count, and index exists / delete / refresh.
+ * It has no transport, so any other call fails.
+ */
+final class InMemoryElasticsearchClient extends ElasticsearchClient {
+
+    private static final String INDEX = "tickets";
+
+    // Elasticsearch's default page size
+    private static final int DEFAULT_SIZE = 10;
+
+    private final InMemoryTicketIndex index;
+    private final ElasticsearchIndicesClient indices;
+
+    InMemoryElasticsearchClient(InMemoryTicketIndex index) {
+        super(null);
+        this.index = index;
+        this.indices = new InMemoryIndicesClient(index);
+    }
+
+    @Override
+    public <TDocument> SearchResponse<TDocument> search(SearchRequest request, Class<TDocument> documentClass) {
+        if (documentClass != TicketDocument.class) {
+            throw new UnsupportedOperationException("The in-memory index only holds TicketDocument");
+        }
+        checkIndex(request.index());
+        long start = System.nanoTime();
+        List<TicketDocument> documents = index.search(request.query(), request.sort(),
+                request.from() != null ? request.from() : 0,
+                request.size() != null ? request.size() : DEFAULT_SIZE);
+        List<Hit<TDocument>> hits = documents.stream()
+                .map(document -> Hit.<TDocument>of(h -> h.index(INDEX).id(document.getId()).source(documentClass.cast(document))))
+                .toList();
+
+        return SearchResponse.<TDocument>of(r -> r
+                .took((System.nanoTime() - start) / 1_000_000)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                // Only this page is counted; the application reads totals through count()
+                .hits(h -> h.hits(hits).total(t -> t.value(hits.size()).relation(TotalHitsRelation.Gte))));
+    }
+
+    @Override
+    public CountResponse count(CountRequest request) {
+        checkIndex(request.index());
+        long count = index.count(request.query());
+        return CountResponse.of(r -> r
+                .count(count)
+                .shards(s -> s.total(1).successful(1).failed(0)));
+    }
+
+    @Override
+    public ElasticsearchIndicesClient indices() {
+        return indices;
+    }
+
+    private static void checkIndex(List<String> indexNames) {
+        if (!indexNames.isEmpty() && !indexNames.equals(List.of(INDEX))) {
+            throw new UnsupportedOperationException("The in-memory client only serves the " + INDEX + " index");
+        }
+    }
+
+    private static final class InMemoryIndicesClient extends ElasticsearchIndicesClient {
+
+        private final InMemoryTicketIndex index;
+
+        private InMemoryIndicesClient(InMemoryTicketIndex index) {
+            super(null);
+            this.index = index;
+        }
+
+        @Override
+        public BooleanResponse exists(ExistsRequest request) {
+            checkIndex(request.index());
+            return new BooleanResponse(index.exists());
+        }
+
+        @Override
+        public DeleteIndexResponse delete(DeleteIndexRequest request) {
+            checkIndex(request.index());
+            index.deleteIndex();
+            return DeleteIndexResponse.of(r -> r.acknowledged(true));
+        }
+
+        @Override
+        public RefreshResponse refresh(RefreshRequest request) {
+            // Writes are searchable immediately, so there is nothing to do
+            checkIndex(request.index());
+            return RefreshResponse.of(r -> r.shards(s -> s.total(1).successful(1).failed(0)));
+        }
+    }
+}
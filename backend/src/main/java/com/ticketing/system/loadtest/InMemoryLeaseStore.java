@@ -0,0 +1,27 @@
+package com.ticketing.system.loadtest;
+
+import com.ticketing.system.model.SchedulerLease;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SchedulerLeaseRepository for the loadtest profile. A single process holds every
+ * lease, but acquiring and renewing them still goes through the same paths as in a cluster.
+ */
+final class InMemoryLeaseStore {
+
+    private final ConcurrentMap<String, SchedulerLease> leases = new ConcurrentHashMap<>();
+
+    public boolean tryAcquire(String name, String owner, long now, long ttlMillis) {
+        SchedulerLease lease = leases.compute(name, (id, current) ->
+                current == null || owner.equals(current.getOwner()) || current.getExpiresAt() < now
+                        ? new SchedulerLease(id, owner, now + ttlMillis)
+                        : current);
+        return owner.equals(lease.getOwner());
+    }
+
+    public void release(String name, String owner) {
+        leases.computeIfPresent(name, (id, lease) -> owner.equals(lease.getOwner()) ? null : lease);
+    }
+}
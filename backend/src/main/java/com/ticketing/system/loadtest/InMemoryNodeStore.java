@@ -0,0 +1,27 @@
+package com.ticketing.system.loadtest;
+
+import com.ticketing.system.model.SchedulerNode;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SchedulerNodeRepository for the loadtest profile: last-seen times by node.
+ */
+final class InMemoryNodeStore {
+
+    private final ConcurrentMap<String, Long> lastSeenByNode = new ConcurrentHashMap<>();
+
+    public SchedulerNode save(SchedulerNode node) {
+        lastSeenByNode.put(node.getId(), node.getLastSeenAt());
+        return node;
+    }
+
+    public void deleteById(String id) {
+        lastSeenByNode.remove(id);
+    }
+
+    public long countByLastSeenAtGreaterThan(Long lastSeenAt) {
+        return lastSeenByNode.values().stream().filter(seen -> seen > lastSeenAt).count();
+    }
+}
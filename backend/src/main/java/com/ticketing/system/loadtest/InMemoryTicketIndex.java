@@ -0,0 +1,217 @@
+package com.ticketing.system.loadtest;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
+import com.ticketing.system.model.TicketDocument;
+import com.ticketing.system.util.FuzzySearchUtil;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * The tickets index for the loadtest profile. Backs TicketDocumentRepository and the
+ * searches and counts sent through InMemoryElasticsearchClient, evaluating the subset
+ * of the query DSL TicketElasticsearchService builds: bool, term on keyword fields and
+ * match on text fields, with fuzziness AUTO as Elasticsearch defines it. Matching
+ * documents are scanned rather than looked up, so search cost grows with the index.
+ */
+final class InMemoryTicketIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Elasticsearch creates the index on the first write
+    private volatile boolean exists;
+
+    public TicketDocument save(TicketDocument document) {
+        entries.put(document.getId(), new Entry(copy(document)));
+        exists = true;
+        return document;
+    }
+
+    public Iterable<TicketDocument> saveAll(Iterable<TicketDocument> documents) {
+        documents.forEach(this::save);
+        return documents;
+    }
+
+    public void deleteById(String id) {
+        entries.remove(id);
+    }
+
+    boolean exists() {
+        return exists;
+    }
+
+    void deleteIndex() {
+        entries.clear();
+        exists = false;
+    }
+
+    long count(Query query) {
+        return entries.values().stream().filter(entry -> query == null || matches(query, entry)).count();
+    }
+
+    List<TicketDocument> search(Query query, List<SortOptions> sort, int from, int size) {
+        Comparator<TicketDocument> order = null;
+        for (SortOptions options : sort) {
+            if (!options.isField()) {
+                throw new UnsupportedOperationException("Sort " + options._kind() + " is not supported by the in-memory index");
+            }
+            String field = options.field().field();
+            Comparator<String> values = options.field().order() == SortOrder.Desc
+                    ? Comparator.reverseOrder()
+                    : Comparator.naturalOrder();
+            // Documents without the field sort last in either direction, as in Elasticsearch
+            Comparator<TicketDocument> byField = Comparator.comparing(d -> keyword(d, field), Comparator.nullsLast(values));
+            order = order == null ? byField : order.thenComparing(byField);
+        }
+
+        return entries.values().stream()
+                .filter(entry -> query == null || matches(query, entry))
+                .map(entry -> entry.document)
+                .sorted(order != null ? order : Comparator.comparing(TicketDocument::getId))
+                .skip(from)
+                .limit(size)
+                .map(InMemoryTicketIndex::copy)
+                .toList();
+    }
+
+    private boolean matches(Query query, Entry entry) {
+        if (query.isMatchAll()) {
+            return true;
+        }
+        if (query.isBool()) {
+            return matches(query.bool(), entry);
+        }
+        if (query.isTerm()) {
+            TermQuery term = query.term();
+            return Objects.equals(keyword(entry.document, term.field()), text(term.value()));
+        }
+        if (query.isMatch()) {
+            MatchQuery match = query.match();
+            return matchesAnyTerm(entry.tokens(match.field()), analyze(text(match.query())), match.fuzziness() != null);
+        }
+        throw new UnsupportedOperationException("Query " + query._kind() + " is not supported by the in-memory index");
+    }
+
+    private boolean matches(BoolQuery bool, Entry entry) {
+        if (!bool.must().stream().allMatch(q -> matches(q, entry))
+                || !bool.filter().stream().allMatch(q -> matches(q, entry))
+                || bool.mustNot().stream().anyMatch(q -> matches(q, entry))) {
+            return false;
+        }
+        // Should clauses are optional next to must or filter clauses unless minimum_should_match says otherwise
+        int minimumShouldMatch = bool.minimumShouldMatch() != null
+                ? Integer.parseInt(bool.minimumShouldMatch())
+                : bool.must().isEmpty() && bool.filter().isEmpty() && !bool.should().isEmpty() ? 1 : 0;
+        if (minimumShouldMatch == 0) {
+            return true;
+        }
+        return bool.should().stream().filter(q -> matches(q, entry)).limit(minimumShouldMatch).count() == minimumShouldMatch;
+    }
+
+    // Match queries default to OR: one query term matching one document term is enough
+    private static boolean matchesAnyTerm(List<String> documentTerms, List<String> queryTerms, boolean fuzzy) {
+        for (String queryTerm : queryTerms) {
+            int maxEdits = fuzzy ? autoFuzziness(queryTerm) : 0;
+            for (String documentTerm : documentTerms) {
+                if (maxEdits == 0 ? queryTerm.equals(documentTerm)
+                        : Math.abs(queryTerm.length() - documentTerm.length()) <= maxEdits
+                        && FuzzySearchUtil.levenshteinDistance(queryTerm, documentTerm) <= maxEdits) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // fuzziness AUTO: exact up to 2 characters, one edit up to 5, two beyond
+    private static int autoFuzziness(String term) {
+        return term.length() <= 2 ? 0 : term.length() <= 5 ? 1 : 2;
+    }
+
+    // Roughly the standard analyzer: split on anything but letters and digits, lowercased
+    private static List<String> analyze(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase()))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static String text(FieldValue value) {
+        return value.isString() ? value.stringValue() : String.valueOf(value._get());
+    }
+
+    private static String keyword(TicketDocument document, String field) {
+        return switch (field) {
+            case "id" -> document.getId();
+            case "status" -> document.getStatus();
+            case "priority" -> document.getPriority();
+            case "assignedAgentId" -> document.getAssignedAgentId();
+            case "assignedAgentName" -> document.getAssignedAgentName();
+            case "customerEmail" -> document.getCustomerEmail();
+            case "createdAt" -> document.getCreatedAt();
+            case "updatedAt" -> document.getUpdatedAt();
+            case "closedAt" -> document.getClosedAt();
+            case "autoAssigned" -> String.valueOf(document.isAutoAssigned());
+            default -> throw new UnsupportedOperationException("Keyword field " + field + " is not in the in-memory index");
+        };
+    }
+
+    private static TicketDocument copy(TicketDocument document) {
+        return TicketDocument.builder()
+                .id(document.getId())
+                .title(document.getTitle())
+                .description(document.getDescription())
+                .status(document.getStatus())
+                .priority(document.getPriority())
+                .assignedAgentId(document.getAssignedAgentId())
+                .assignedAgentName(document.getAssignedAgentName())
+                .customerEmail(document.getCustomerEmail())
+                .customerName(document.getCustomerName())
+                .createdAt(document.getCreatedAt())
+                .updatedAt(document.getUpdatedAt())
+                .closedAt(document.getClosedAt())
+                .autoAssigned(document.isAutoAssigned())
+                .build();
+    }
+
+    /**
+     * A stored document with its text fields analyzed once, at index time.
+     */
+    private static final class Entry {
+        private final TicketDocument document;
+        private final List<String> titleTerms;
+        private final List<String> descriptionTerms;
+        private final List<String> customerNameTerms;
+
+        private Entry(TicketDocument document) {
+            this.document = document;
+            this.titleTerms = analyze(document.getTitle());
+            this.descriptionTerms = analyze(document.getDescription());
+            this.customerNameTerms = analyze(document.getCustomerName());
+        }
+
+        private List<String> tokens(String field) {
+            return switch (field) {
+                case "title" -> titleTerms;
+                case "description" -> descriptionTerms;
+                case "customerName" -> customerNameTerms;
+                default -> throw new UnsupportedOperationException("Text field " + field + " is not in the in-memory index");
+            };
+        }
+    }
+}
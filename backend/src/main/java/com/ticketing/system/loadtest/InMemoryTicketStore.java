@@ -0,0 +1,343 @@
+package com.ticketing.system.loadtest;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.SlaEscalation;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.model.TicketUpdate;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * TicketRepository for the loadtest profile, kept in memory. Tickets are copied on the
+ * way in and out and dates are cut to the millisecond, as a round trip through MongoDB
+ * would; conditional bulk updates are applied to each ticket atomically, like MongoDB's
+ * per-document updates. Tickets are kept in _id order.
+ */
+final class InMemoryTicketStore {
+
+    private static final List<TicketStatus> CLOSED_STATUSES = List.of(TicketStatus.RESOLVED, TicketStatus.INVALID);
+
+    private final ConcurrentNavigableMap<String, Ticket> tickets = new ConcurrentSkipListMap<>();
+
+    public Ticket save(Ticket ticket) {
+        if (ticket.getId() == null) {
+            ticket.setId(new ObjectId().toHexString());
+        }
+        tickets.put(ticket.getId(), copy(ticket));
+        return ticket;
+    }
+
+    public List<Ticket> insert(Iterable<Ticket> batch) {
+        List<Ticket> inserted = new ArrayList<>();
+        for (Ticket ticket : batch) {
+            if (ticket.getId() == null) {
+                ticket.setId(new ObjectId().toHexString());
+            }
+            if (tickets.putIfAbsent(ticket.getId(), copy(ticket)) != null) {
+                throw new DuplicateKeyException("Ticket " + ticket.getId() + " already exists");
+            }
+            inserted.add(ticket);
+        }
+        return inserted;
+    }
+
+    public Optional<Ticket> findById(String id) {
+        return Optional.ofNullable(tickets.get(id)).map(InMemoryTicketStore::copy);
+    }
+
+    public List<Ticket> findAll() {
+        return find(ticket -> true);
+    }
+
+    public long count() {
+        return tickets.size();
+    }
+
+    public List<Ticket> findByAssignedAgentId(String agentId) {
+        return find(ticket -> Objects.equals(ticket.getAssignedAgentId(), agentId));
+    }
+
+    public List<Ticket> findByAssignedAgentIdIsNull() {
+        return find(ticket -> ticket.getAssignedAgentId() == null);
+    }
+
+    public List<Ticket> findByAssignedAgentIdAndStatusIn(String agentId, List<TicketStatus> statuses) {
+        return find(ticket -> Objects.equals(ticket.getAssignedAgentId(), agentId) && statuses.contains(ticket.getStatus()));
+    }
+
+    public List<Ticket> findDueSlaDeadlines(LocalDateTime now) {
+        return findDueSlaDeadlines(now, ticket -> true);
+    }
+
+    public List<Ticket> findDueSlaDeadlinesInPartitions(LocalDateTime now, Collection<Integer> partitions) {
+        return findDueSlaDeadlines(now, ticket -> partitions.contains(ticket.getSlaPartition()));
+    }
+
+    private List<Ticket> findDueSlaDeadlines(LocalDateTime now, Predicate<Ticket> partition) {
+        return tickets.values().stream()
+                .filter(ticket -> isOpen(ticket) && ticket.getSlaDeadline() != null && !ticket.getSlaDeadline().isAfter(now)
+                        && partition.test(ticket))
+                .map(ticket -> Ticket.builder()
+                        .id(ticket.getId())
+                        .priority(ticket.getPriority())
+                        .customerTier(ticket.getCustomerTier())
+                        .createdAt(ticket.getCreatedAt())
+                        .firstRespondedAt(ticket.getFirstRespondedAt())
+                        .lastSlaEscalationAt(ticket.getLastSlaEscalationAt())
+                        .slaDeadline(ticket.getSlaDeadline())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public List<Ticket> findByIdInExcludingHistory(Collection<String> ids) {
+        return ids.stream()
+                .distinct()
+                .map(tickets::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryTicketStore::summary)
+                .collect(Collectors.toList());
+    }
+
+    public List<Ticket> findByIdInWithActivityExcludingHistory(Collection<String> ids, Collection<String> activityIds) {
+        return ids.stream()
+                .distinct()
+                .map(tickets::get)
+                .filter(Objects::nonNull)
+                .filter(ticket -> ticket.getActivities() != null && ticket.getActivities().stream()
+                        .anyMatch(activity -> activityIds.contains(activity.getId())))
+                .map(InMemoryTicketStore::summary)
+                .collect(Collectors.toList());
+    }
+
+    public Stream<Ticket> streamPendingSlaDeadlines(Collection<Integer> partitions) {
+        return snapshot(ticket -> isOpen(ticket) && ticket.getSlaDeadline() != null && partitions.contains(ticket.getSlaPartition()))
+                .map(ticket -> Ticket.builder()
+                        .id(ticket.getId())
+                        .slaDeadline(ticket.getSlaDeadline())
+                        .build());
+    }
+
+    public Stream<Ticket> streamUnpartitionedSlaDeadlines(int partitionCount) {
+        return snapshot(ticket -> isOpen(ticket) && ticket.getSlaDeadline() != null
+                && (ticket.getSlaPartition() == null || ticket.getSlaPartition() >= partitionCount))
+                .map(ticket -> Ticket.builder().id(ticket.getId()).build());
+    }
+
+    public Stream<Ticket> streamMissingSlaDeadlines() {
+        return snapshot(ticket -> isOpen(ticket) && ticket.getSlaDeadline() == null
+                && (ticket.getPriority() == Priority.LOW || ticket.getPriority() == Priority.MEDIUM))
+                .map(ticket -> Ticket.builder()
+                        .id(ticket.getId())
+                        .status(ticket.getStatus())
+                        .priority(ticket.getPriority())
+                        .customerEmail(ticket.getCustomerEmail())
+                        .customerTier(ticket.getCustomerTier())
+                        .createdAt(ticket.getCreatedAt())
+                        .firstRespondedAt(ticket.getFirstRespondedAt())
+                        .lastSlaEscalationAt(ticket.getLastSlaEscalationAt())
+                        .build());
+    }
+
+    public int escalatePriority(List<SlaEscalation> escalations, Priority from, Priority to, LocalDateTime now) {
+        int modified = 0;
+        for (SlaEscalation escalation : escalations) {
+            boolean escalated = update(escalation.getTicketId(), ticket -> {
+                if (ticket.getPriority() != from || !isOpen(ticket)) {
+                    return null;
+                }
+                Ticket updated = copy(ticket);
+                updated.setPriority(to);
+                updated.setUpdatedAt(millis(now));
+                updated.setLastSlaEscalationAt(millis(now));
+                updated.setSlaDeadline(millis(escalation.getNextSlaDeadline()));
+                updated.getActivities().add(escalation.getActivity());
+                return updated;
+            });
+            if (escalated) {
+                modified++;
+            }
+        }
+        return modified;
+    }
+
+    public int backfillSlaDeadlines(List<Ticket> backfills) {
+        int modified = 0;
+        for (Ticket backfill : backfills) {
+            boolean backfilled = update(backfill.getId(), ticket -> {
+                if (ticket.getSlaDeadline() != null) {
+                    return null;
+                }
+                Ticket updated = copy(ticket);
+                updated.setSlaDeadline(millis(backfill.getSlaDeadline()));
+                updated.setSlaPartition(backfill.getSlaPartition());
+                updated.setCustomerTier(backfill.getCustomerTier());
+                return updated;
+            });
+            if (backfilled) {
+                modified++;
+            }
+        }
+        return modified;
+    }
+
+    public int backfillSlaPartitions(List<Ticket> backfills) {
+        int modified = 0;
+        for (Ticket backfill : backfills) {
+            boolean backfilled = update(backfill.getId(), ticket -> {
+                Ticket updated = copy(ticket);
+                updated.setSlaPartition(backfill.getSlaPartition());
+                return updated;
+            });
+            if (backfilled) {
+                modified++;
+            }
+        }
+        return modified;
+    }
+
+    public int insertTickets(List<Ticket> batch) {
+        int inserted = 0;
+        for (Ticket ticket : batch) {
+            // Already written by an earlier attempt of the same batch
+            if (tickets.putIfAbsent(ticket.getId(), copy(ticket)) == null) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    public int applyTicketUpdates(List<TicketUpdate> updates) {
+        int modified = 0;
+        for (TicketUpdate ticketUpdate : updates) {
+            Ticket source = ticketUpdate.getTicket();
+            boolean applied = update(source.getId(), ticket -> {
+                if (!Objects.equals(ticket.getUpdatedAt(), millis(ticketUpdate.getExpectedUpdatedAt()))) {
+                    return null;
+                }
+                Ticket updated = copy(ticket);
+                updated.setStatus(source.getStatus());
+                updated.setUpdatedAt(millis(source.getUpdatedAt()));
+                updated.setPriority(source.getPriority());
+                updated.setAssignedAgentId(source.getAssignedAgentId());
+                updated.setAssignedAgentName(source.getAssignedAgentName());
+                updated.setClosedAt(millis(source.getClosedAt()));
+                updated.setFirstRespondedAt(millis(source.getFirstRespondedAt()));
+                updated.setCustomerTier(source.getCustomerTier());
+                updated.setSlaDeadline(millis(source.getSlaDeadline()));
+                updated.setSlaPartition(source.getSlaPartition());
+                updated.getActivities().addAll(ticketUpdate.getActivities());
+                return updated;
+            });
+            if (applied) {
+                modified++;
+            }
+        }
+        return modified;
+    }
+
+    public Stream<Ticket> streamSummaries() {
+        return snapshot(ticket -> true).map(InMemoryTicketStore::summary);
+    }
+
+    public Stream<Ticket> streamUnassignedSummaries() {
+        return snapshot(ticket -> ticket.getAssignedAgentId() == null).map(InMemoryTicketStore::summary);
+    }
+
+    public Stream<Ticket> streamSummariesByAgentAndPriority(String agentId, Priority priority) {
+        return snapshot(ticket -> Objects.equals(ticket.getAssignedAgentId(), agentId) && ticket.getPriority() == priority)
+                .map(InMemoryTicketStore::summary);
+    }
+
+    public Stream<Ticket> streamForExport(List<TicketStatus> statuses, String agentId, LocalDateTime createdFrom,
+                                          LocalDateTime createdTo, boolean includeActivities) {
+        return snapshot(ticket -> (statuses == null || statuses.isEmpty() || statuses.contains(ticket.getStatus()))
+                && (agentId == null || agentId.equals(ticket.getAssignedAgentId()))
+                && (createdFrom == null || (ticket.getCreatedAt() != null && !ticket.getCreatedAt().isBefore(createdFrom)))
+                && (createdTo == null || (ticket.getCreatedAt() != null && ticket.getCreatedAt().isBefore(createdTo))))
+                .map(ticket -> {
+                    Ticket exported = summary(ticket);
+                    if (includeActivities) {
+                        exported.setActivities(new ArrayList<>(ticket.getActivities()));
+                    }
+                    return exported;
+                });
+    }
+
+    // Conditional update of one ticket; the change returns null when its condition does not hold.
+    // ConcurrentSkipListMap may call it more than once, so only the attempt that was stored counts.
+    private boolean update(String id, UnaryOperator<Ticket> change) {
+        boolean[] changed = new boolean[1];
+        tickets.computeIfPresent(id, (key, ticket) -> {
+            Ticket updated = change.apply(ticket);
+            changed[0] = updated != null;
+            return updated != null ? updated : ticket;
+        });
+        return changed[0];
+    }
+
+    private List<Ticket> find(Predicate<Ticket> filter) {
+        return snapshot(filter).map(InMemoryTicketStore::copy).collect(Collectors.toList());
+    }
+
+    // Weakly consistent, like a MongoDB cursor that sees some concurrent writes and not others
+    private Stream<Ticket> snapshot(Predicate<Ticket> filter) {
+        return tickets.values().stream().filter(filter);
+    }
+
+    private static boolean isOpen(Ticket ticket) {
+        return !CLOSED_STATUSES.contains(ticket.getStatus());
+    }
+
+    // Every field but comments and activities
+    private static Ticket summary(Ticket ticket) {
+        Ticket summary = copy(ticket);
+        summary.setComments(new ArrayList<>());
+        summary.setActivities(new ArrayList<>());
+        return summary;
+    }
+
+    private static Ticket copy(Ticket ticket) {
+        return Ticket.builder()
+                .id(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .assignedAgentId(ticket.getAssignedAgentId())
+                .assignedAgentName(ticket.getAssignedAgentName())
+                .customerEmail(ticket.getCustomerEmail())
+                .customerName(ticket.getCustomerName())
+                .customerTier(ticket.getCustomerTier())
+                .comments(ticket.getComments() != null ? new ArrayList<>(ticket.getComments()) : new ArrayList<>())
+                .activities(ticket.getActivities() != null ? new ArrayList<>(ticket.getActivities()) : new ArrayList<>())
+                .createdAt(millis(ticket.getCreatedAt()))
+                .updatedAt(millis(ticket.getUpdatedAt()))
+                .closedAt(millis(ticket.getClosedAt()))
+                .firstRespondedAt(millis(ticket.getFirstRespondedAt()))
+                .lastSlaEscalationAt(millis(ticket.getLastSlaEscalationAt()))
+                .slaDeadline(millis(ticket.getSlaDeadline()))
+                .slaPartition(ticket.getSlaPartition())
+                .autoAssigned(ticket.isAutoAssigned())
+                .build();
+    }
+
+    // MongoDB stores dates to the millisecond
+    private static LocalDateTime millis(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MILLIS) : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ticketing.system.loadtest;
+
+import com.ticketing.system.model.Role;
+import com.ticketing.system.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * UserRepository for the loadtest profile, kept in memory with the unique email index
+ * enforced. Saves do not publish MongoDB events, so cached users are only refreshed
+ * when user-cache.ttl runs out.
+ */
+final class InMemoryUserStore {
+
+    private final ConcurrentMap<String, User> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsByEmail = new ConcurrentHashMap<>();
+
+    public synchronized User save(User user) {
+        if (user.getId() == null) {
+            user.setId(new ObjectId().toHexString());
+        }
+        String owner = idsByEmail.get(user.getEmail());
+        if (owner != null && !owner.equals(user.getId())) {
+            throw new DuplicateKeyException("User with email " + user.getEmail() + " already exists");
+        }
+        User previous = users.put(user.getId(), copy(user));
+        if (previous != null && !previous.getEmail().equals(user.getEmail())) {
+            idsByEmail.remove(previous.getEmail());
+        }
+        idsByEmail.put(user.getEmail(), user.getId());
+        return user;
+    }
+
+    public Optional<User> findById(String id) {
+        return Optional.ofNullable(users.get(id)).map(InMemoryUserStore::copy);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(idsByEmail.get(email)).flatMap(this::findById);
+    }
+
+    public List<User> findByRole(Role role) {
+        return users.values().stream()
+                .filter(user -> user.getRole() == role)
+                .map(InMemoryUserStore::copy)
+                .collect(Collectors.toList());
+    }
+
+    public long count() {
+        return users.size();
+    }
+
+    public int recordLastActive(Map<String, Long> lastActiveByUserId) {
+        AtomicInteger modified = new AtomicInteger();
+        lastActiveByUserId.forEach((userId, lastActiveAt) -> users.computeIfPresent(userId, (id, user) -> {
+            if (user.getLastActiveAt() != null && user.getLastActiveAt() >= lastActiveAt) {
+                return user;
+            }
+            User updated = copy(user);
+            updated.setLastActiveAt(lastActiveAt);
+            modified.incrementAndGet();
+            return updated;
+        }));
+        return modified.get();
+    }
+
+    private static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .employeeId(user.getEmployeeId())
+                .phoneNumber(user.getPhoneNumber())
+                .lastActiveAt(user.getLastActiveAt())
+                .createdAt(millis(user.getCreatedAt()))
+                .updatedAt(millis(user.getUpdatedAt()))
+                .build();
+    }
+
+    private static LocalDateTime millis(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MILLIS) : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ticketing.system.loadtest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.ticketing.system.repository.SchedulerLeaseRepository;
+import com.ticketing.system.repository.SchedulerNodeRepository;
+import com.ticketing.system.repository.TicketDocumentRepository;
+import com.ticketing.system.repository.TicketRepository;
+import com.ticketing.system.repository.UserRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * In-memory stand-ins for MongoDB and Elasticsearch under the loadtest profile, which
+ * turns off their auto-configuration (application-loadtest.yml). The rest of the
+ * application runs unchanged on top of them, so a load test measures the backend's own
+ * request handling, security, serialization and scheduling rather than the databases.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    public TicketRepository ticketRepository() {
+        return RepositoryProxy.of(TicketRepository.class, new InMemoryTicketStore());
+    }
+
+    @Bean
+    public UserRepository userRepository() {
+        return RepositoryProxy.of(UserRepository.class, new InMemoryUserStore());
+    }
+
+    @Bean
+    public SchedulerLeaseRepository schedulerLeaseRepository() {
+        return RepositoryProxy.of(SchedulerLeaseRepository.class, new InMemoryLeaseStore());
+    }
+
+    @Bean
+    public SchedulerNodeRepository schedulerNodeRepository() {
+        return RepositoryProxy.of(SchedulerNodeRepository.class, new InMemoryNodeStore());
+    }
+
+    @Bean
+    public InMemoryTicketIndex inMemoryTicketIndex() {
+        return new InMemoryTicketIndex();
+    }
+
+    @Bean
+    public TicketDocumentRepository ticketDocumentRepository(InMemoryTicketIndex index) {
+        return RepositoryProxy.of(TicketDocumentRepository.class, index);
+    }
+
+    @Bean
+    public ElasticsearchClient elasticsearchClient(InMemoryTicketIndex index) {
+        return new InMemoryElasticsearchClient(index);
+    }
+}
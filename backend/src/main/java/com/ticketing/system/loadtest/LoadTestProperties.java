@@ -0,0 +1,55 @@
+package com.ticketing.system.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Load test scenario (prefix "loadtest"), run by LoadTestRunner under the loadtest profile.
+ */
+@Data
+@Profile("loadtest")
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    // Requests started per second, across all operations
+    private int rate = 200;
+
+    // Measured run, after warmup; requests during warmup are sent but not recorded
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+
+    // Threads sending requests; requests due while all are busy wait, and the wait counts as latency
+    private int workers = 64;
+
+    // Seed for the operation mix and generated tickets, so runs are repeatable
+    private long seed = 42;
+
+    // Shut the application down once the report is written
+    private boolean exitWhenDone = true;
+
+    private Mix mix = new Mix();
+
+    /**
+     * Relative weights of the operations in the mix.
+     */
+    @Data
+    public static class Mix {
+        // POST /api/v1/tickets
+        private int create = 20;
+        // PATCH /api/v1/tickets/{id}/priority on a created ticket, as the manager
+        private int priority = 15;
+        // PATCH /api/v1/tickets/{id}/status on an assigned ticket, as its agent
+        private int status = 10;
+        // GET /api/v1/tickets?query=..., as the manager or an agent
+        private int search = 20;
+        // GET /api/v1/tickets/autocomplete?query=..., as the manager or an agent
+        private int autocomplete = 20;
+        // POST /api/v1/tickets/auto-assign, as the manager
+        private int autoAssign = 1;
+        // POST /api/v1/users/heartbeat, as an agent
+        private int heartbeat = 14;
+    }
+}
@@ -0,0 +1,403 @@
+package com.ticketing.system.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the running application over HTTP once it is ready, under the loadtest profile.
+ *
+ * Requests are started on a fixed schedule at loadtest.rate, whatever the response
+ * times, and each latency is measured from when its request was due rather than when
+ * it was sent, so a slow backend shows up as latency instead of as a lower request rate.
+ * The operations feed each other: created tickets get a priority from the manager,
+ * auto-assignment hands them to agents, and agents move their tickets through
+ * IN_PROGRESS to RESOLVED. An operation with nothing to work on yet is skipped.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String MANAGER_EMAIL = "manager@company.com";
+    private static final String MANAGER_PASSWORD = "manager123";
+    private static final List<String> AGENT_EMAILS = List.of(
+            "john.smith@company.com", "emily.johnson@company.com", "michael.brown@company.com",
+            "jessica.davis@company.com", "david.wilson@company.com");
+    private static final String AGENT_PASSWORD = "agent123";
+
+    // Generated titles combine these; searches look for the subjects, some with a typo
+    private static final String[] SUBJECTS = {
+            "login", "payment", "checkout", "refund", "invoice", "notification", "export", "upload",
+            "dashboard", "subscription", "password", "profile", "search", "report", "calendar", "shipping"
+    };
+    private static final String[] PROBLEMS = {
+            "not working", "failing", "very slow", "returns error 500", "times out", "shows wrong data"
+    };
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    // Created tickets waiting for a priority, and assigned tickets waiting for their next status
+    private final Queue<String> unprioritized = new ConcurrentLinkedQueue<>();
+    private final Queue<StatusStep> statusSteps = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong ticketCounter = new AtomicLong();
+
+    private String baseUrl;
+    private Session manager;
+    private final List<Session> agents = new ArrayList<>();
+    private final Map<String, Session> agentsById = new LinkedHashMap<>();
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        Thread runner = new Thread(() -> runAndExit(context), "loadtest-runner");
+        runner.start();
+    }
+
+    private void runAndExit(ConfigurableApplicationContext context) {
+        int exitCode = 0;
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            exitCode = 1;
+        }
+        if (properties.isExitWhenDone()) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private void run() throws IOException, InterruptedException {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        manager = login(MANAGER_EMAIL, MANAGER_PASSWORD);
+        for (String email : AGENT_EMAILS) {
+            Session agent = login(email, AGENT_PASSWORD);
+            agents.add(agent);
+            agentsById.put(agent.userId, agent);
+            queueAssignedTickets(agent);
+        }
+
+        LoadTestProperties.Mix mix = properties.getMix();
+        int[] weights = {
+                mix.getCreate(), mix.getPriority(), mix.getStatus(), mix.getSearch(),
+                mix.getAutocomplete(), mix.getAutoAssign(), mix.getHeartbeat()
+        };
+        int totalWeight = 0;
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+        if (properties.getRate() <= 0 || totalWeight <= 0) {
+            throw new IllegalStateException("loadtest.rate and the loadtest.mix weights must be positive");
+        }
+
+        log.info("Load test: {} requests/s for {} after a {} warmup, {} workers",
+                properties.getRate(), properties.getDuration(), properties.getWarmup(), properties.getWorkers());
+
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        AtomicInteger workerNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getWorkers(),
+                r -> new Thread(r, "loadtest-worker-" + workerNumber.incrementAndGet()));
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(random.nextInt(totalWeight), weights);
+            SplittableRandom requestRandom = random.split();
+            long dueAt = due;
+            boolean measured = due >= measureFrom;
+            workers.execute(() -> execute(operation, requestRandom, dueAt, measured));
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) {
+            log.warn("Load test requests still running after the schedule ended; reporting without them");
+            workers.shutdownNow();
+        }
+        log.info("Load test report\n{}", report());
+    }
+
+    private void execute(Operation operation, SplittableRandom random, long due, boolean measured) {
+        Stats operationStats = stats.get(operation);
+        try {
+            boolean ran = perform(operation, random);
+            if (measured) {
+                if (ran) {
+                    operationStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+                } else {
+                    operationStats.skipped.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (measured) {
+                operationStats.errors.increment();
+            }
+            log.debug("Load test {} request failed", operation.label, e);
+        }
+    }
+
+    // Returns false when there is nothing for the operation to work on yet
+    private boolean perform(Operation operation, SplittableRandom random) throws IOException, InterruptedException {
+        switch (operation) {
+            case CREATE -> {
+                long number = ticketCounter.incrementAndGet();
+                String title = capitalize(pick(random, SUBJECTS)) + " " + pick(random, PROBLEMS);
+                Map<String, String> body = Map.of(
+                        "title", title,
+                        "description", "Customer reports: " + title.toLowerCase() + " since this morning (load test ticket " + number + ")",
+                        "customerEmail", "customer" + number + "@example.com",
+                        "customerName", "Customer " + number);
+                JsonNode created = send("POST", "/api/v1/tickets", null, body);
+                unprioritized.add(created.get("id").asText());
+            }
+            case PRIORITY -> {
+                String ticketId = unprioritized.poll();
+                if (ticketId == null) {
+                    return false;
+                }
+                send("PATCH", "/api/v1/tickets/" + ticketId + "/priority", manager,
+                        Map.of("priority", pick(random, PRIORITIES)));
+            }
+            case STATUS -> {
+                StatusStep step = statusSteps.poll();
+                if (step == null) {
+                    return false;
+                }
+                send("PATCH", "/api/v1/tickets/" + step.ticketId + "/status", agentsById.get(step.agentId),
+                        Map.of("status", step.status));
+                if (step.status.equals("IN_PROGRESS")) {
+                    // One in ten worked tickets turns out to be invalid
+                    String next = random.nextInt(10) == 0 ? "INVALID" : "RESOLVED";
+                    statusSteps.add(new StatusStep(step.agentId, step.ticketId, next));
+                }
+            }
+            case SEARCH -> send("GET", "/api/v1/tickets?page=0&size=10&query=" + encode(searchTerm(random)),
+                    anyUser(random), null);
+            case AUTOCOMPLETE -> send("GET", "/api/v1/tickets/autocomplete?limit=5&query=" + encode(searchTerm(random)),
+                    anyUser(random), null);
+            case AUTO_ASSIGN -> {
+                JsonNode response = send("POST", "/api/v1/tickets/auto-assign", manager, null);
+                queueNotStarted(response.path("assignedTickets"));
+            }
+            case HEARTBEAT -> send("POST", "/api/v1/users/heartbeat", agents.get(random.nextInt(agents.size())), null);
+        }
+        return true;
+    }
+
+    private Session login(String email, String password) throws IOException, InterruptedException {
+        JsonNode response = send("POST", "/api/v1/auth/login", null, Map.of("email", email, "password", password));
+        return new Session(response.get("userId").asText(), response.get("token").asText());
+    }
+
+    // Seeded tickets already assigned to the agent also get worked on
+    private void queueAssignedTickets(Session agent) throws IOException, InterruptedException {
+        JsonNode grouped = send("GET", "/api/v1/tickets?grouped=true", agent, null);
+        queueNotStarted(grouped.path("NOT_STARTED"));
+        for (JsonNode ticket : grouped.path("IN_PROGRESS")) {
+            statusSteps.add(new StatusStep(agent.userId, ticket.get("id").asText(), "RESOLVED"));
+        }
+    }
+
+    private void queueNotStarted(JsonNode tickets) {
+        for (JsonNode ticket : tickets) {
+            String agentId = ticket.path("assignedAgentId").asText(null);
+            if (agentId != null && agentsById.containsKey(agentId)) {
+                statusSteps.add(new StatusStep(agentId, ticket.get("id").asText(), "IN_PROGRESS"));
+            }
+        }
+    }
+
+    private JsonNode send(String method, String path, Session session, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (session != null) {
+            request.header("Authorization", "Bearer " + session.token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IOException(method + " " + path + " returned " + response.statusCode());
+        }
+        return response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.missingNode();
+    }
+
+    private String report() {
+        double seconds = properties.getDuration().toNanos() / 1e9;
+        StringBuilder report = new StringBuilder(String.format("%-32s %8s %8s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "skipped"));
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        long allSkipped = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            Histogram latency = operationStats.latency.copy();
+            all.add(latency);
+            allErrors += operationStats.errors.sum();
+            allSkipped += operationStats.skipped.sum();
+            appendRow(report, entry.getKey().label, latency, seconds, operationStats.errors.sum(), operationStats.skipped.sum());
+        }
+        appendRow(report, "all", all, seconds, allErrors, allSkipped);
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String label, Histogram latency, double seconds,
+                                  long errors, long skipped) {
+        report.append(String.format("%-32s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                label, latency.getTotalCount(), latency.getTotalCount() / seconds,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()), errors, skipped));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private Session anyUser(SplittableRandom random) {
+        // One search in four comes from the manager, across all tickets
+        return random.nextInt(4) == 0 ? manager : agents.get(random.nextInt(agents.size()));
+    }
+
+    // A subject word, one time in three with two neighbouring letters swapped
+    private static String searchTerm(SplittableRandom random) {
+        String term = pick(random, SUBJECTS);
+        if (random.nextInt(3) == 0) {
+            int i = random.nextInt(term.length() - 1);
+            term = term.substring(0, i) + term.charAt(i + 1) + term.charAt(i) + term.substring(i + 2);
+        }
+        return term;
+    }
+
+    private static Operation pick(int roll, int[] weights) {
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return Operation.values()[i];
+            }
+        }
+        throw new IllegalStateException("Roll beyond total weight");
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // In the order of the weights in run()
+    private enum Operation {
+        CREATE("POST /tickets"),
+        PRIORITY("PATCH /tickets/{id}/priority"),
+        STATUS("PATCH /tickets/{id}/status"),
+        SEARCH("GET /tickets?query="),
+        AUTOCOMPLETE("GET /tickets/autocomplete"),
+        AUTO_ASSIGN("POST /tickets/auto-assign"),
+        HEARTBEAT("POST /users/heartbeat");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Stats {
+        // Microseconds from when each request was due until its response was read
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+
+    private static final class Session {
+        private final String userId;
+        private final String token;
+
+        private Session(String userId, String token) {
+            this.userId = userId;
+            this.token = token;
+        }
+    }
+
+    private static final class StatusStep {
+        private final String agentId;
+        private final String ticketId;
+        private final String status;
+
+        private StatusStep(String agentId, String ticketId, String status) {
+            this.agentId = agentId;
+            this.ticketId = ticketId;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ticketing.system.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implements a Spring Data repository interface by forwarding each call to the public
+ * method of the same name and parameter types on an in-memory store. Repository
+ * methods the store does not have throw UnsupportedOperationException, so a code
+ * path the load test does not cover fails loudly instead of returning nothing.
+ */
+final class RepositoryProxy {
+
+    private RepositoryProxy() {
+    }
+
+    static <R> R of(Class<R> repositoryType, Object store) {
+        Map<Method, Method> targets = new ConcurrentHashMap<>();
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> self == args[0];
+                            case "hashCode" -> System.identityHashCode(self);
+                            default -> "In-memory " + repositoryType.getSimpleName();
+                        };
+                    }
+                    Method target = targets.computeIfAbsent(method, m -> findTarget(store.getClass(), m));
+                    if (target == null) {
+                        throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName()
+                                + " is not implemented by the load test stand-in");
+                    }
+                    try {
+                        return target.invoke(store, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        return repositoryType.cast(proxy);
+    }
+
+    // Same name and arity, with compatible parameters; generic repository parameters
+    // such as CrudRepository.findById(ID) erase to Object, so a narrower store type also matches
+    private static Method findTarget(Class<?> storeType, Method method) {
+        for (Method candidate : storeType.getMethods()) {
+            if (!candidate.getName().equals(method.getName())
+                    || candidate.getParameterCount() != method.getParameterCount()) {
+                continue;
+            }
+            Class<?>[] candidateTypes = candidate.getParameterTypes();
+            Class<?>[] methodTypes = method.getParameterTypes();
+            boolean compatible = true;
+            for (int i = 0; i < candidateTypes.length && compatible; i++) {
+                compatible = candidateTypes[i].isAssignableFrom(methodTypes[i])
+                        || methodTypes[i].isAssignableFrom(candidateTypes[i]);
+            }
+            if (compatible) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticketing.system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A time-limited claim by one backend node on a named piece of scheduled work.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "scheduler_leases")
+public class SchedulerLease {
+    // Lease name, e.g. "sla-partition-3"
+    @Id
+    private String id;
+
+    private String owner;
+
+    // Stored as epoch milliseconds so nodes in different time zones agree
+    private Long expiresAt;
+}
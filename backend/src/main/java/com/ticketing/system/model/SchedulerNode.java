@@ -0,0 +1,24 @@
+package com.ticketing.system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Liveness record of a backend node taking part in scheduled work.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "scheduler_nodes")
+public class SchedulerNode {
+    @Id
+    private String id;
+
+    // Stored as epoch milliseconds for timezone-safe handling
+    private Long lastSeenAt;
+}
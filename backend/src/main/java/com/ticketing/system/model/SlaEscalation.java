@@ -0,0 +1,23 @@
+package com.ticketing.system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending SLA escalation of one ticket: the activity to record and the deadline it moves to.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaEscalation {
+    private String ticketId;
+    private Activity activity;
+
+    // Null when the new priority cannot escalate further
+    private LocalDateTime nextSlaDeadline;
+}
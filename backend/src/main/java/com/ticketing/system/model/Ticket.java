@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "tickets")
+// SLA sweeps and deadline loading read one node's partitions, by deadline
+@CompoundIndex(name = "slaPartition_slaDeadline", def = "{ 'slaPartition': 1, 'slaDeadline': 1 }", sparse = true)
 public class Ticket {
     @Id
     private String id;
@@ -36,6 +39,9 @@ public class Ticket {
 
     private String customerName;
 
+    // SLA customer tier, resolved from the customer email domain when the ticket is created
+    private String customerTier;
+
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
 
@@ -49,6 +55,18 @@ public class Ticket {
     // Timestamp when ticket was closed (RESOLVED or INVALID)
     private LocalDateTime closedAt;
 
+    // First time an agent started work on or commented on the ticket
+    private LocalDateTime firstRespondedAt;
+
+    // Last automatic SLA escalation; the next one waits at least sla.escalation-grace after it
+    private LocalDateTime lastSlaEscalationAt;
+
+    // Next SLA escalation deadline; absent once the ticket is closed or cannot escalate further
+    private LocalDateTime slaDeadline;
+
+    // SLA partition, hashed from the ID; the node holding its lease escalates the ticket
+    private Integer slaPartition;
+
     // Flag to indicate if ticket was auto-assigned
     private boolean autoAssigned;
 }
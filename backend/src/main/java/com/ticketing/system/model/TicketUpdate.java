@@ -0,0 +1,25 @@
+package com.ticketing.system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A validated change to one ticket: its new workflow fields and the activities to record.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketUpdate {
+    // Ticket with the new values applied; comments and activities are not written
+    private Ticket ticket;
+    private List<Activity> activities;
+
+    // updatedAt the change was validated against; the write is skipped if it moved
+    private LocalDateTime expectedUpdatedAt;
+}
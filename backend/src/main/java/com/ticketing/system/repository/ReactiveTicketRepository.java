@@ -0,0 +1,26 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Ticket;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of TicketRepository for the streaming read API. List
+ * queries leave out embedded comments and activities, which summaries do not show.
+ */
+@Repository
+public interface ReactiveTicketRepository extends ReactiveMongoRepository<Ticket, String> {
+
+    @Query(value = "{}", fields = "{ 'comments': 0, 'activities': 0 }")
+    Flux<Ticket> streamAllSummaries();
+
+    @Query(value = "{ 'assignedAgentId': null }", fields = "{ 'comments': 0, 'activities': 0 }")
+    Flux<Ticket> streamUnassignedSummaries();
+
+    // A null priority also matches tickets without one
+    @Query(value = "{ 'assignedAgentId': ?0, 'priority': ?1 }", fields = "{ 'comments': 0, 'activities': 0 }")
+    Flux<Ticket> streamSummariesByAgentAndPriority(String agentId, Priority priority);
+}
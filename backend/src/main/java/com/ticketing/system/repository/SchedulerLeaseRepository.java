@@ -0,0 +1,9 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.SchedulerLease;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLeaseRepository extends MongoRepository<SchedulerLease, String>, SchedulerLeaseRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package com.ticketing.system.repository;
+
+/**
+ * Atomic lease operations for coordinating scheduled work across backend nodes.
+ */
+public interface SchedulerLeaseRepositoryCustom {
+
+    /**
+     * Acquire or renew a lease. Succeeds if the lease is free, expired or already
+     * held by the owner, and extends it to now + ttlMillis.
+     *
+     * @return true if the owner holds the lease afterwards
+     */
+    boolean tryAcquire(String name, String owner, long now, long ttlMillis);
+
+    /**
+     * Give up a lease if the owner still holds it.
+     */
+    void release(String name, String owner);
+}
@@ -0,0 +1,41 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.SchedulerLease;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class SchedulerLeaseRepositoryCustomImpl implements SchedulerLeaseRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean tryAcquire(String name, String owner, long now, long ttlMillis) {
+        Query query = new Query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("owner").is(owner),
+                Criteria.where("expiresAt").lt(now)
+        ));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now + ttlMillis);
+
+        try {
+            SchedulerLease lease = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLease.class);
+            return lease != null && owner.equals(lease.getOwner());
+        } catch (DuplicateKeyException e) {
+            // The lease exists and another node holds it, so the upsert collided with it
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(name).and("owner").is(owner)), SchedulerLease.class);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.SchedulerNode;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerNodeRepository extends MongoRepository<SchedulerNode, String> {
+    long countByLastSeenAtGreaterThan(Long lastSeenAt);
+}
@@ -9,11 +9,13 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TicketRepository extends MongoRepository<Ticket, String> {
+public interface TicketRepository extends MongoRepository<Ticket, String>, TicketRepositoryCustom {
     List<Ticket> findByAssignedAgentId(String agentId);
     List<Ticket> findByAssignedAgentIdAndStatus(String agentId, TicketStatus status);
     List<Ticket> findByStatus(TicketStatus status);
@@ -59,4 +61,39 @@ public interface TicketRepository extends MongoRepository<Ticket, String> {
     // Find all tickets with IDs that start with a pattern (for managers)
     @Query("{ '_id': { $regex: ?0, $options: 'i' } }")
     List<Ticket> findByIdStartingWith(String idPrefix, Pageable pageable);
+
+    // Open tickets whose SLA deadline has passed - only the fields SLA evaluation needs
+    @Query(value = "{ 'slaDeadline': { $lte: ?0 }, 'status': { $nin: ['RESOLVED', 'INVALID'] } }",
+            fields = "{ '_id': 1, 'priority': 1, 'customerTier': 1, 'createdAt': 1, 'firstRespondedAt': 1, 'lastSlaEscalationAt': 1, 'slaDeadline': 1 }")
+    List<Ticket> findDueSlaDeadlines(LocalDateTime now);
+
+    // The same, in the given SLA partitions only; served by the slaPartition + slaDeadline index
+    @Query(value = "{ 'slaPartition': { $in: ?1 }, 'slaDeadline': { $lte: ?0 }, 'status': { $nin: ['RESOLVED', 'INVALID'] } }",
+            fields = "{ '_id': 1, 'priority': 1, 'customerTier': 1, 'createdAt': 1, 'firstRespondedAt': 1, 'lastSlaEscalationAt': 1, 'slaDeadline': 1 }")
+    List<Ticket> findDueSlaDeadlinesInPartitions(LocalDateTime now, Collection<Integer> partitions);
+
+    // Tickets by ID without embedded comments and activities
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'comments': 0, 'activities': 0 }")
+    List<Ticket> findByIdInExcludingHistory(Collection<String> ids);
+
+    // Of the given tickets, those that carry any of the given activities - without embedded comments and activities
+    @Query(value = "{ '_id': { $in: ?0 }, 'activities.id': { $in: ?1 } }", fields = "{ 'comments': 0, 'activities': 0 }")
+    List<Ticket> findByIdInWithActivityExcludingHistory(Collection<String> ids, Collection<String> activityIds);
+
+    // Open tickets in the given SLA partitions with a pending deadline - ids and deadlines only (must be closed after use)
+    @Query(value = "{ 'slaPartition': { $in: ?0 }, 'slaDeadline': { $exists: true }, 'status': { $nin: ['RESOLVED', 'INVALID'] } }",
+            fields = "{ '_id': 1, 'slaDeadline': 1 }")
+    Stream<Ticket> streamPendingSlaDeadlines(Collection<Integer> partitions);
+
+    // Open tickets with a deadline but no SLA partition below partitionCount: saved before partitions
+    // were stored, or under a larger scheduler.partitions - ids only (must be closed after use)
+    @Query(value = "{ 'slaDeadline': { $exists: true }, 'status': { $nin: ['RESOLVED', 'INVALID'] }, "
+            + "$or: [ { 'slaPartition': { $exists: false } }, { 'slaPartition': { $gte: ?0 } } ] }",
+            fields = "{ '_id': 1 }")
+    Stream<Ticket> streamUnpartitionedSlaDeadlines(int partitionCount);
+
+    // Open LOW / MEDIUM tickets saved before they had an SLA deadline - SLA fields only (must be closed after use)
+    @Query(value = "{ 'priority': { $in: ['LOW', 'MEDIUM'] }, 'status': { $nin: ['RESOLVED', 'INVALID'] }, 'slaDeadline': { $exists: false } }",
+            fields = "{ '_id': 1, 'status': 1, 'priority': 1, 'customerEmail': 1, 'customerTier': 1, 'createdAt': 1, 'firstRespondedAt': 1, 'lastSlaEscalationAt': 1 }")
+    Stream<Ticket> streamMissingSlaDeadlines();
 }
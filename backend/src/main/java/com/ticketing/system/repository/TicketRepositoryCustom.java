@@ -0,0 +1,86 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.SlaEscalation;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.model.TicketUpdate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Ticket operations that need MongoTemplate rather than derived queries.
+ */
+public interface TicketRepositoryCustom {
+
+    /**
+     * Escalate open tickets from one priority to another with a single bulk write.
+     * Each ticket gets its own activity pushed onto its history, records the escalation
+     * time and moves to its next SLA deadline. A ticket is only updated if it is still
+     * open and still at the expected priority, so a ticket that changed since it was
+     * selected is left alone.
+     *
+     * @return number of tickets actually escalated
+     */
+    int escalatePriority(List<SlaEscalation> escalations, Priority from, Priority to, LocalDateTime now);
+
+    /**
+     * Store the SLA deadline and customer tier computed for each ticket, with a single
+     * bulk write. Tickets that got a deadline in the meantime are left alone.
+     *
+     * @return number of tickets updated
+     */
+    int backfillSlaDeadlines(List<Ticket> tickets);
+
+    /**
+     * Store the SLA partition computed for each ticket, with a single bulk write.
+     *
+     * @return number of tickets updated
+     */
+    int backfillSlaPartitions(List<Ticket> tickets);
+
+    /**
+     * Insert new tickets with a single unordered bulk write. Tickets whose ID already
+     * exists are skipped, so a batch can be retried after a partial failure.
+     *
+     * @return number of tickets inserted
+     */
+    int insertTickets(List<Ticket> tickets);
+
+    /**
+     * Write the status, priority, assignment and SLA fields of each ticket and push
+     * its activities, with a single bulk write. A ticket whose updatedAt no longer
+     * matches the expected value changed since it was validated and is left alone.
+     *
+     * @return number of tickets updated
+     */
+    int applyTicketUpdates(List<TicketUpdate> updates);
+
+    /**
+     * Summary fields of all tickets, read from a cursor in bounded batches, so only
+     * one batch is in memory at a time. The stream must be closed after use.
+     */
+    Stream<Ticket> streamSummaries();
+
+    /**
+     * Summary fields of unassigned tickets, read like streamSummaries().
+     */
+    Stream<Ticket> streamUnassignedSummaries();
+
+    /**
+     * Summary fields of an agent's tickets at one priority (null for tickets without
+     * one), read like streamSummaries().
+     */
+    Stream<Ticket> streamSummariesByAgentAndPriority(String agentId, Priority priority);
+
+    /**
+     * Tickets matching the export filters, read like streamSummaries() in _id order.
+     * Null or empty filters match everything; the date range applies to createdAt and
+     * is inclusive of from and exclusive of to. Comments are never read, activities
+     * only when asked for.
+     */
+    Stream<Ticket> streamForExport(List<TicketStatus> statuses, String agentId, LocalDateTime createdFrom,
+                                   LocalDateTime createdTo, boolean includeActivities);
+}
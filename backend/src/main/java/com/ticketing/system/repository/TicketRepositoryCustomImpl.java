@@ -0,0 +1,199 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.SlaEscalation;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.model.TicketUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final List<TicketStatus> CLOSED_STATUSES = List.of(TicketStatus.RESOLVED, TicketStatus.INVALID);
+
+    private final MongoTemplate mongoTemplate;
+
+    // Documents fetched per round trip when streaming; bounds memory per open stream
+    @Value("${ticket-stream.batch-size:500}")
+    private int streamBatchSize;
+
+    @Override
+    public int escalatePriority(List<SlaEscalation> escalations, Priority from, Priority to, LocalDateTime now) {
+        if (escalations.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class);
+        for (SlaEscalation escalation : escalations) {
+            Query query = new Query(Criteria.where("_id").is(escalation.getTicketId())
+                    .and("priority").is(from)
+                    .and("status").nin(CLOSED_STATUSES));
+            Update update = new Update()
+                    .set("priority", to)
+                    .set("updatedAt", now)
+                    .set("lastSlaEscalationAt", now)
+                    .push("activities", escalation.getActivity());
+            if (escalation.getNextSlaDeadline() != null) {
+                update.set("slaDeadline", escalation.getNextSlaDeadline());
+            } else {
+                update.unset("slaDeadline");
+            }
+            bulkOps.updateOne(query, update);
+        }
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    @Override
+    public int backfillSlaDeadlines(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class);
+        for (Ticket ticket : tickets) {
+            Query query = new Query(Criteria.where("_id").is(ticket.getId())
+                    .and("slaDeadline").exists(false));
+            bulkOps.updateOne(query, new Update()
+                    .set("slaDeadline", ticket.getSlaDeadline())
+                    .set("slaPartition", ticket.getSlaPartition())
+                    .set("customerTier", ticket.getCustomerTier()));
+        }
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    @Override
+    public int backfillSlaPartitions(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class);
+        for (Ticket ticket : tickets) {
+            bulkOps.updateOne(new Query(Criteria.where("_id").is(ticket.getId())),
+                    new Update().set("slaPartition", ticket.getSlaPartition()));
+        }
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    @Override
+    public int insertTickets(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class)
+                    .insert(tickets)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            // Tickets already written by an earlier attempt of the same batch
+            if (e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                return e.getResult().getInsertedCount();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public int applyTicketUpdates(List<TicketUpdate> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class);
+        for (TicketUpdate ticketUpdate : updates) {
+            Ticket ticket = ticketUpdate.getTicket();
+            Query query = new Query(Criteria.where("_id").is(ticket.getId())
+                    .and("updatedAt").is(ticketUpdate.getExpectedUpdatedAt()));
+            Update update = new Update()
+                    .set("status", ticket.getStatus())
+                    .set("updatedAt", ticket.getUpdatedAt())
+                    .push("activities").each(ticketUpdate.getActivities().toArray());
+            // Absent rather than null, as a full save would leave them
+            setOrUnset(update, "priority", ticket.getPriority());
+            setOrUnset(update, "assignedAgentId", ticket.getAssignedAgentId());
+            setOrUnset(update, "assignedAgentName", ticket.getAssignedAgentName());
+            setOrUnset(update, "closedAt", ticket.getClosedAt());
+            setOrUnset(update, "firstRespondedAt", ticket.getFirstRespondedAt());
+            setOrUnset(update, "customerTier", ticket.getCustomerTier());
+            setOrUnset(update, "slaDeadline", ticket.getSlaDeadline());
+            setOrUnset(update, "slaPartition", ticket.getSlaPartition());
+            bulkOps.updateOne(query, update);
+        }
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    @Override
+    public Stream<Ticket> streamSummaries() {
+        return streamSummaries(new Criteria());
+    }
+
+    @Override
+    public Stream<Ticket> streamUnassignedSummaries() {
+        return streamSummaries(Criteria.where("assignedAgentId").is(null));
+    }
+
+    @Override
+    public Stream<Ticket> streamSummariesByAgentAndPriority(String agentId, Priority priority) {
+        return streamSummaries(Criteria.where("assignedAgentId").is(agentId).and("priority").is(priority));
+    }
+
+    @Override
+    public Stream<Ticket> streamForExport(List<TicketStatus> statuses, String agentId, LocalDateTime createdFrom,
+                                          LocalDateTime createdTo, boolean includeActivities) {
+        Criteria criteria = new Criteria();
+        if (statuses != null && !statuses.isEmpty()) {
+            criteria.and("status").in(statuses);
+        }
+        if (agentId != null) {
+            criteria.and("assignedAgentId").is(agentId);
+        }
+        if (createdFrom != null || createdTo != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (createdFrom != null) {
+                createdAt.gte(createdFrom);
+            }
+            if (createdTo != null) {
+                createdAt.lt(createdTo);
+            }
+        }
+
+        // Walking the _id index keeps the sort out of memory however many tickets match
+        Query query = new Query(criteria).with(Sort.by("_id")).cursorBatchSize(streamBatchSize);
+        query.fields().exclude("comments");
+        if (!includeActivities) {
+            query.fields().exclude("activities");
+        }
+        return mongoTemplate.stream(query, Ticket.class);
+    }
+
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        } else {
+            update.unset(field);
+        }
+    }
+
+    private Stream<Ticket> streamSummaries(Criteria criteria) {
+        Query query = new Query(criteria).cursorBatchSize(streamBatchSize);
+        query.fields().exclude("comments", "activities");
+        return mongoTemplate.stream(query, Ticket.class);
+    }
+}
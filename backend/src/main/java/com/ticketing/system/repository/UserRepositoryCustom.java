@@ -0,0 +1,17 @@
+package com.ticketing.system.repository;
+
+import java.util.Map;
+
+/**
+ * User operations that need MongoTemplate rather than derived queries.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Raise each user's lastActiveAt to the given epoch millisecond time with a single
+     * bulk write of $max updates. A stored time that is already later is kept.
+     *
+     * @return number of users whose lastActiveAt changed
+     */
+    int recordLastActive(Map<String, Long> lastActiveByUserId);
+}
@@ -0,0 +1,30 @@
+package com.ticketing.system.repository;
+
+import com.ticketing.system.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int recordLastActive(Map<String, Long> lastActiveByUserId) {
+        if (lastActiveByUserId.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        lastActiveByUserId.forEach((userId, lastActiveAt) -> bulkOps.updateOne(
+                new Query(Criteria.where("_id").is(userId)),
+                new Update().max("lastActiveAt", lastActiveAt)));
+        return bulkOps.execute().getModifiedCount();
+    }
+}
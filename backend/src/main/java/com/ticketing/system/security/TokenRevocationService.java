@@ -0,0 +1,39 @@
+package com.ticketing.system.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens that must stop working before they expire (logout).
+ *
+ * Authentication trusts the token claims without reading the user from MongoDB, so
+ * revocation is checked here instead, by token ID (jti). Entries are dropped once the
+ * token has expired anyway, which keeps the set small. It is held in memory per
+ * instance.
+ */
+@Service
+public class TokenRevocationService {
+
+    // jti -> token expiry (epoch ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    public void revoke(Claims claims) {
+        if (claims.getId() != null && claims.getExpiration() != null) {
+            revokedTokens.put(claims.getId(), claims.getExpiration().getTime());
+        }
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return claims.getId() != null && revokedTokens.containsKey(claims.getId());
+    }
+
+    @Scheduled(fixedRate = 600000) // 10 minutes
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+    }
+}
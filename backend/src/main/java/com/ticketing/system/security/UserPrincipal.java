@@ -30,6 +30,20 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    /**
+     * Principal for a request authenticated by JWT, built from the token claims alone.
+     * Password and name are not carried in the token and stay null.
+     */
+    public static UserPrincipal fromToken(String userId, String email, String role) {
+        return new UserPrincipal(
+                userId,
+                email,
+                null,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+        );
+    }
+
     @Override
     public String getUsername() {
         return email;
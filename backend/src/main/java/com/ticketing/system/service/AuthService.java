@@ -6,6 +6,8 @@ import com.ticketing.system.exception.ApiException;
 import com.ticketing.system.model.User;
 import com.ticketing.system.repository.UserRepository;
 import com.ticketing.system.security.JwtService;
+import com.ticketing.system.security.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +20,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
 
     public LoginResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
@@ -39,4 +42,15 @@ public class AuthService {
                 .phoneNumber(user.getPhoneNumber())
                 .build();
     }
+
+    public void logout(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+        try {
+            tokenRevocationService.revoke(jwtService.parseVerifiedClaims(authHeader.substring(7)));
+        } catch (JwtException e) {
+            // Invalid or expired token - nothing left to revoke
+        }
+    }
 }
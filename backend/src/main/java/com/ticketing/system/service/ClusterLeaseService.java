@@ -0,0 +1,169 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.event.PartitionsAcquiredEvent;
+import com.ticketing.system.model.SchedulerNode;
+import com.ticketing.system.repository.SchedulerLeaseRepository;
+import com.ticketing.system.repository.SchedulerNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Splits partitioned scheduled work (SLA escalation) across all running backend nodes.
+ *
+ * Tickets are hashed by ID into a fixed number of partitions. Each partition is
+ * guarded by a lease in MongoDB; a node only sweeps the partitions it holds. Every
+ * node renews its leases on a fixed interval, gives back partitions above its fair
+ * share when nodes join, and takes over partitions whose lease expired when a node
+ * dies.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerNodeRepository nodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${scheduler.node-id:}")
+    private String nodeId;
+
+    @Value("${scheduler.partitions:16}")
+    private int partitionCount;
+
+    @Value("${scheduler.lease-ttl-ms:30000}")
+    private long leaseTtlMillis;
+
+    // Partition -> local time until which this node may act on it. Kept well inside the
+    // stored lease expiry so clock skew between nodes cannot give two nodes the same partition
+    private final Map<Integer, Long> ownedPartitions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        log.info("Scheduler node {} coordinating {} SLA partitions", nodeId, partitionCount);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int partitionOf(String ticketId) {
+        return Math.floorMod(ticketId.hashCode(), partitionCount);
+    }
+
+    public boolean ownsPartition(int partition) {
+        Long validUntil = ownedPartitions.get(partition);
+        return validUntil != null && validUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * Partitions this node may act on now, for pushing into a query.
+     */
+    public List<Integer> getOwnedPartitions() {
+        List<Integer> owned = new ArrayList<>();
+        for (Integer partition : ownedPartitions.keySet()) {
+            if (ownsPartition(partition)) {
+                owned.add(partition);
+            }
+        }
+        return owned;
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.rebalance-interval-ms:10000}")
+    public void rebalance() {
+        long now = System.currentTimeMillis();
+        long validUntil = now + leaseTtlMillis / 2;
+
+        nodeRepository.save(SchedulerNode.builder().id(nodeId).lastSeenAt(now).build());
+        long liveNodes = Math.max(1, nodeRepository.countByLastSeenAtGreaterThan(now - leaseTtlMillis));
+        int fairShare = (int) Math.ceil((double) partitionCount / liveNodes);
+
+        // Renew what we hold, dropping anything another node took over
+        for (Integer partition : new ArrayList<>(ownedPartitions.keySet())) {
+            if (leaseRepository.tryAcquire(leaseName(partition), nodeId, now, leaseTtlMillis)) {
+                ownedPartitions.put(partition, validUntil);
+            } else {
+                ownedPartitions.remove(partition);
+                log.warn("Lost lease on SLA partition {}", partition);
+            }
+        }
+
+        // Give back partitions above our fair share so newly joined nodes can pick them up
+        List<Integer> owned = new ArrayList<>(new TreeSet<>(ownedPartitions.keySet()));
+        for (int i = owned.size() - 1; i >= fairShare; i--) {
+            int partition = owned.get(i);
+            ownedPartitions.remove(partition);
+            leaseRepository.release(leaseName(partition), nodeId);
+            log.info("Released SLA partition {} to rebalance across {} nodes", partition, liveNodes);
+        }
+
+        // Take over free or expired partitions up to our fair share, starting at a
+        // node-specific offset so starting nodes do not all contend for partition 0
+        Set<Integer> acquired = new TreeSet<>();
+        int start = Math.floorMod(nodeId.hashCode(), partitionCount);
+        for (int i = 0; i < partitionCount && ownedPartitions.size() < fairShare; i++) {
+            int partition = (start + i) % partitionCount;
+            if (!ownedPartitions.containsKey(partition)
+                    && leaseRepository.tryAcquire(leaseName(partition), nodeId, now, leaseTtlMillis)) {
+                ownedPartitions.put(partition, validUntil);
+                acquired.add(partition);
+            }
+        }
+
+        if (!acquired.isEmpty()) {
+            log.info("Acquired SLA partitions {} ({} of {} held, {} live nodes)",
+                    acquired, ownedPartitions.size(), partitionCount, liveNodes);
+            eventPublisher.publishEvent(new PartitionsAcquiredEvent(acquired));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Hand partitions back immediately rather than making the other nodes wait out the TTL
+        for (Integer partition : ownedPartitions.keySet()) {
+            leaseRepository.release(leaseName(partition), nodeId);
+        }
+        ownedPartitions.clear();
+        nodeRepository.deleteById(nodeId);
+        log.info("Scheduler node {} released its SLA partitions", nodeId);
+    }
+
+    private static String leaseName(int partition) {
+        return "sla-partition-" + partition;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        // Host plus JVM name (pid@host) plus a random suffix, unique even for several instances per host
+        return host + "-" + ManagementFactory.getRuntimeMXBean().getName().split("@")[0]
+                + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,267 @@
+package com.ticketing.system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.system.dto.TicketStreamMessage;
+import com.ticketing.system.dto.WorkloadDeltaMessage;
+import com.ticketing.system.event.TicketChangeEvent;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes ticket changes and agent workload deltas to connected clients over
+ * Server-Sent Events.
+ *
+ * Publishing never blocks on a client: each event is serialized once and offered to
+ * every subscriber's bounded queue, and a small sender pool drains the queues. A
+ * subscriber whose queue is full is too slow to keep up and is disconnected; the
+ * browser's EventSource reconnects and the page reloads its data.
+ *
+ * Managers receive every ticket event plus workload deltas; agents only receive events
+ * for tickets assigned to them, or just taken away from them. Subscribers only see
+ * changes made through this instance.
+ */
+@Service
+@Slf4j
+public class EventStreamService {
+
+    private static final String TICKET_EVENT = "ticket";
+    private static final String WORKLOAD_EVENT = "workload";
+
+    private final ObjectMapper objectMapper;
+    private final TicketService ticketService;
+    private final PresenceService presenceService;
+
+    @Value("${stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${stream.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService senders;
+
+    public EventStreamService(ObjectMapper objectMapper, TicketService ticketService, PresenceService presenceService,
+                              @Value("${stream.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.ticketService = ticketService;
+        this.presenceService = presenceService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "event-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(String userId, boolean manager) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ApiException("Too many open event streams", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, manager, emitter, queueCapacity);
+        emitter.onCompletion(() -> {
+            subscriber.closed.set(true);
+            subscribers.remove(subscriber);
+        });
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+
+        // An open stream counts as presence
+        presenceService.heartbeat(userId);
+        enqueue(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @EventListener
+    public void onTicketChange(TicketChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Ticket ticket = event.getTicket();
+        String previousAgentId = Objects.equals(event.getPreviousAgentId(), ticket.getAssignedAgentId())
+                ? null : event.getPreviousAgentId();
+        Set<ResponseBodyEmitter.DataWithMediaType> ticketEvent = buildEvent(TICKET_EVENT, TicketStreamMessage.builder()
+                .type(event.getType().name())
+                .ticket(ticketService.mapToTicketSummary(ticket))
+                .previousAgentId(previousAgentId)
+                .build());
+
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> workloadEvents = workloadDeltas(event).values().stream()
+                .map(delta -> buildEvent(WORKLOAD_EVENT, delta))
+                .collect(Collectors.toList());
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.manager) {
+                enqueue(subscriber, ticketEvent);
+                for (Set<ResponseBodyEmitter.DataWithMediaType> workloadEvent : workloadEvents) {
+                    enqueue(subscriber, workloadEvent);
+                }
+            } else if (subscriber.userId.equals(ticket.getAssignedAgentId()) || subscriber.userId.equals(previousAgentId)) {
+                enqueue(subscriber, ticketEvent);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and refreshes subscribers' presence
+    @Scheduled(fixedRateString = "${stream.keepalive-ms:15000}")
+    public void keepAlive() {
+        for (Subscriber subscriber : subscribers) {
+            presenceService.heartbeat(subscriber.userId);
+            enqueue(subscriber, SseEmitter.event().comment("keepalive").build());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> buildEvent(String name, Object payload) {
+        try {
+            // Serialized once here rather than by each subscriber's emitter
+            return SseEmitter.event()
+                    .id(String.valueOf(eventIds.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(payload))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            log.warn("Dropping event stream of user {}: {} events queued", subscriber.userId, queueCapacity);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber); // Client went away
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event offered after the last poll but before the flag was cleared would be stranded
+            if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * Per-agent change of active ticket counts and workload score caused by the event.
+     */
+    private Map<String, WorkloadDeltaMessage> workloadDeltas(TicketChangeEvent event) {
+        Map<String, WorkloadDeltaMessage> deltas = new LinkedHashMap<>();
+        if (event.getType() != TicketChangeEvent.ChangeType.CREATED) {
+            addWorkload(deltas, event.getPreviousAgentId(), event.getPreviousStatus(), event.getPreviousPriority(), -1);
+        }
+        Ticket ticket = event.getTicket();
+        addWorkload(deltas, ticket.getAssignedAgentId(), ticket.getStatus(), ticket.getPriority(), 1);
+        // e.g. a comment, which changes nothing about the assignee's workload
+        deltas.values().removeIf(delta -> delta.getNotStartedCount() == 0 && delta.getInProgressCount() == 0
+                && delta.getHighPriorityCount() == 0 && delta.getMediumPriorityCount() == 0
+                && delta.getLowPriorityCount() == 0);
+        return deltas;
+    }
+
+    private static void addWorkload(Map<String, WorkloadDeltaMessage> deltas, String agentId,
+                                    TicketStatus status, Priority priority, int sign) {
+        if (agentId == null || (status != TicketStatus.NOT_STARTED && status != TicketStatus.IN_PROGRESS)) {
+            return; // Only active tickets count towards workload
+        }
+        WorkloadDeltaMessage delta = deltas.computeIfAbsent(agentId,
+                id -> WorkloadDeltaMessage.builder().agentId(id).build());
+        delta.setTotalActiveTickets(delta.getTotalActiveTickets() + sign);
+        if (status == TicketStatus.NOT_STARTED) {
+            delta.setNotStartedCount(delta.getNotStartedCount() + sign);
+        } else {
+            delta.setInProgressCount(delta.getInProgressCount() + sign);
+        }
+        if (priority == Priority.HIGH) {
+            delta.setHighPriorityCount(delta.getHighPriorityCount() + sign);
+        } else if (priority == Priority.MEDIUM) {
+            delta.setMediumPriorityCount(delta.getMediumPriorityCount() + sign);
+        } else if (priority == Priority.LOW) {
+            delta.setLowPriorityCount(delta.getLowPriorityCount() + sign);
+        }
+        delta.setWorkloadScore(TicketAutoAssignmentService.calculateWorkloadScore(
+                delta.getHighPriorityCount(), delta.getMediumPriorityCount(), delta.getLowPriorityCount()));
+    }
+
+    private static final class Subscriber {
+        private final String userId;
+        private final boolean manager;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(String userId, boolean manager, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.manager = manager;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.FlightRecordingResponse;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.jfr.AutoAssignRunEvent;
+import com.ticketing.system.jfr.SearchExecutedEvent;
+import com.ticketing.system.jfr.SlaSweepEvent;
+import com.ticketing.system.jfr.TicketMutationEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One on-demand Java Flight Recorder recording per node, with the JDK's own events from a
+ * settings file plus the ticketing events in com.ticketing.system.jfr. The ticketing
+ * events cost nothing while no recording has them enabled.
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    private static final String RECORDING_NAME = "ticketing";
+
+    private static final List<Class<? extends Event>> TICKETING_EVENTS = List.of(
+            TicketMutationEvent.class, SearchExecutedEvent.class, AutoAssignRunEvent.class, SlaSweepEvent.class);
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    // A lock rather than synchronized, so virtual threads waiting for it are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordingService(@Value("${jfr.max-age:30m}") Duration maxAge,
+                                  @Value("${jfr.max-size:250MB}") DataSize maxSize) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Start a recording with the JDK's "default" or "profile" settings. Without a duration
+     * it runs until stopped, keeping the last jfr.max-age / jfr.max-size of data.
+     */
+    public FlightRecordingResponse start(String settingsName, Duration duration) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (NoSuchFileException e) {
+            throw new ApiException("Unknown recording settings: " + settingsName, HttpStatus.BAD_REQUEST);
+        } catch (IOException | ParseException e) {
+            throw new ApiException("Could not read recording settings: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() != RecordingState.STOPPED) {
+                throw new ApiException("A recording is already running", HttpStatus.CONFLICT);
+            }
+
+            // A finished recording is replaced; dump it first to keep it
+            closeRecording();
+
+            Recording started = new Recording(configuration);
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSize.toBytes());
+            if (duration != null) {
+                started.setDuration(duration);
+            }
+            for (Class<? extends Event> eventClass : TICKETING_EVENTS) {
+                started.enable(eventClass).withoutThreshold();
+            }
+            started.start();
+
+            recording = started;
+            settings = settingsName;
+            log.info("Started flight recording {} with {} settings{}", started.getId(), settingsName,
+                    duration != null ? " for " + duration : "");
+            return toResponse(started);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FlightRecordingResponse getStatus() {
+        lock.lock();
+        try {
+            return toResponse(currentRecording());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copy what has been recorded so far to a temporary file, which the caller deletes.
+     * A running recording keeps running.
+     */
+    public Path dump() throws IOException {
+        Recording current;
+        lock.lock();
+        try {
+            current = currentRecording();
+        } finally {
+            lock.unlock();
+        }
+
+        // Written outside the lock: a large dump must not hold up status requests. A stop
+        // that closes the recording meanwhile makes the dump fail
+        Path file = Files.createTempFile("ticketing-", ".jfr");
+        try {
+            current.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Stop the recording and discard its data.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            currentRecording();
+            closeRecording();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Recording currentRecording() {
+        if (recording == null) {
+            throw new ApiException("No recording has been started", HttpStatus.NOT_FOUND);
+        }
+        return recording;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            log.info("Closing flight recording {}", recording.getId());
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+
+    private FlightRecordingResponse toResponse(Recording current) {
+        return FlightRecordingResponse.builder()
+                .id(current.getId())
+                .name(current.getName())
+                .state(current.getState().name())
+                .settings(settings)
+                .startedAt(current.getStartTime())
+                .duration(current.getDuration() != null ? current.getDuration().toString() : null)
+                .sizeBytes(current.getSize())
+                .build();
+    }
+}
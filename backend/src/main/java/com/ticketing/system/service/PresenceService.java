@@ -0,0 +1,73 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User presence (last heartbeat time), kept in memory and written behind to MongoDB.
+ *
+ * A heartbeat only updates two map entries. The flusher persists the users whose time
+ * changed since the last flush with one bulk write of $max updates, so a flush can
+ * never move a stored time backwards, even when several instances flush the same user.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+
+    private final UserRepository userRepository;
+
+    // userId -> last heartbeat seen by this instance (epoch ms)
+    private final Map<String, Long> lastActive = new ConcurrentHashMap<>();
+
+    // userId -> heartbeat time not yet written to MongoDB
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    public void heartbeat(String userId) {
+        long now = System.currentTimeMillis();
+        lastActive.merge(userId, now, Math::max);
+        pending.merge(userId, now, Math::max);
+    }
+
+    /**
+     * Latest known activity time: the later of this instance's last heartbeat and the
+     * stored value (which includes flushed heartbeats from other instances).
+     */
+    public Long getLastActiveAt(String userId, Long storedLastActiveAt) {
+        Long local = lastActive.get(userId);
+        if (local == null) {
+            return storedLastActiveAt;
+        }
+        return storedLastActiveAt == null ? local : Math.max(local, storedLastActiveAt);
+    }
+
+    @Scheduled(fixedDelayString = "${presence.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> batch = new HashMap<>(pending);
+        try {
+            userRepository.recordLastActive(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} heartbeats, will retry: {}", batch.size(), e.getMessage());
+            return;
+        }
+        // Keep entries that received a newer heartbeat while the batch was written
+        batch.forEach(pending::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.TicketResponse;
+import com.ticketing.system.dto.TicketSearchResponse;
+import com.ticketing.system.dto.TicketSummaryResponse;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Role;
+import com.ticketing.system.model.TicketDocument;
+import com.ticketing.system.repository.ReactiveTicketRepository;
+import com.ticketing.system.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Read side of the ticket API on the reactive MongoDB and Elasticsearch clients.
+ *
+ * Unbounded lists are returned as a Flux that pulls documents from the cursor as the
+ * client consumes them, so no request holds a whole result list in memory or a thread
+ * while waiting on a database. Bounded results (a search page, autocomplete) combine
+ * their hits and count concurrently.
+ */
+@Service
+@ConditionalOnProperty(name = "reactive-api.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTicketQueryService {
+
+    private static final Sort SEARCH_SORT = Sort.by(Sort.Order.desc("priority"), Sort.Order.desc("createdAt"));
+
+    private final ReactiveTicketRepository ticketRepository;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveElasticsearchOperations elasticsearchOperations;
+    private final TicketService ticketService;
+    private final TicketElasticsearchService ticketElasticsearchService;
+
+    public Flux<TicketSummaryResponse> streamAllTicketSummaries() {
+        return ticketRepository.streamAllSummaries().map(ticketService::mapToTicketSummary);
+    }
+
+    public Flux<TicketSummaryResponse> streamUnassignedTicketSummaries() {
+        return ticketRepository.streamUnassignedSummaries().map(ticketService::mapToTicketSummary);
+    }
+
+    public Flux<TicketSummaryResponse> streamTicketSummariesForAgent(String agentId) {
+        // Same order the blocking list sorts into (HIGH first, no priority last), read
+        // as one query per priority instead of sorting in memory
+        return Flux.concat(
+                        ticketRepository.streamSummariesByAgentAndPriority(agentId, Priority.HIGH),
+                        ticketRepository.streamSummariesByAgentAndPriority(agentId, Priority.MEDIUM),
+                        ticketRepository.streamSummariesByAgentAndPriority(agentId, Priority.LOW),
+                        ticketRepository.streamSummariesByAgentAndPriority(agentId, null))
+                .map(ticketService::mapToTicketSummary);
+    }
+
+    /**
+     * One page of fuzzy search results. Searches all tickets when agentId is null.
+     */
+    public Mono<TicketSearchResponse> searchTickets(String agentId, String query, int page, int size) {
+        NativeQuery searchQuery = NativeQuery.builder()
+                .withQuery(TicketElasticsearchService.fuzzyQuery(agentId, query.trim()))
+                .withPageable(PageRequest.of(page, size))
+                .withSort(SEARCH_SORT)
+                .build();
+
+        return Mono.zip(search(searchQuery).collectList(), count(agentId, query))
+                .map(result -> TicketSearchResponse.builder()
+                        .tickets(result.getT1())
+                        .totalCount(result.getT2())
+                        .page(page)
+                        .size(size)
+                        .totalPages((int) Math.ceil((double) result.getT2() / size))
+                        .build());
+    }
+
+    /**
+     * Top matches for a search box, with the total number of matches. Searches all
+     * tickets when agentId is null.
+     */
+    public Mono<Map<String, Object>> autocomplete(String agentId, String query, int limit) {
+        NativeQuery searchQuery = NativeQuery.builder()
+                .withQuery(TicketElasticsearchService.fuzzyQuery(agentId, query.trim()))
+                .withPageable(PageRequest.of(0, limit))
+                .withSort(SEARCH_SORT)
+                .build();
+
+        return Mono.zip(search(searchQuery).collectList(), count(agentId, query))
+                .map(result -> Map.of(
+                        "tickets", result.getT1(),
+                        "totalCount", result.getT2()));
+    }
+
+    public Mono<TicketResponse> getTicketDetails(String ticketId, String userId) {
+        return Mono.zip(
+                        ticketRepository.findById(ticketId)
+                                .switchIfEmpty(Mono.error(new ApiException("Ticket not found", HttpStatus.NOT_FOUND))),
+                        userRepository.findById(userId)
+                                .switchIfEmpty(Mono.error(new ApiException("User not found", HttpStatus.NOT_FOUND))))
+                .flatMap(result -> {
+                    if (result.getT2().getRole() == Role.AGENT && !userId.equals(result.getT1().getAssignedAgentId())) {
+                        return Mono.error(new ApiException("You are not authorized to view this ticket", HttpStatus.FORBIDDEN));
+                    }
+                    return Mono.just(ticketService.mapToTicketResponse(result.getT1()));
+                });
+    }
+
+    private Flux<TicketSummaryResponse> search(NativeQuery query) {
+        return elasticsearchOperations.search(query, TicketDocument.class)
+                .map(SearchHit::getContent)
+                .map(ticketElasticsearchService::mapToSummary);
+    }
+
+    private Mono<Long> count(String agentId, String query) {
+        return elasticsearchOperations.count(NativeQuery.builder()
+                .withQuery(TicketElasticsearchService.fuzzyQuery(agentId, query.trim()))
+                .build(), TicketDocument.class);
+    }
+}
@@ -1,97 +1,364 @@
 package com.ticketing.system.service;
 
+import com.ticketing.system.event.PartitionsAcquiredEvent;
+import com.ticketing.system.event.TicketChangeEvent;
+import com.ticketing.system.jfr.SlaSweepEvent;
 import com.ticketing.system.model.Activity;
 import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.SlaEscalation;
 import com.ticketing.system.model.Ticket;
 import com.ticketing.system.model.TicketStatus;
 import com.ticketing.system.repository.TicketRepository;
+import com.ticketing.system.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SlaEscalationService {
 
+    // Tickets whose deadline was missing are backfilled in bulk writes of this size
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    // One-second slots, 60 per level: levels span a minute, an hour, 60 hours, 150 days
+    private static final long DEADLINE_TICK_MILLIS = 1000;
+    private static final int DEADLINE_WHEEL_SIZE = 60;
+
     private final TicketRepository ticketRepository;
     private final TicketElasticsearchService ticketElasticsearchService;
+    private final ClusterLeaseService clusterLeaseService;
+    private final SlaPolicyEngine slaPolicyEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
-    // Run every hour
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void escalateOverdueTickets() {
-        log.info("Starting SLA escalation check");
+    private final HierarchicalTimingWheel<String> deadlineWheel =
+            new HierarchicalTimingWheel<>(DEADLINE_TICK_MILLIS, DEADLINE_WHEEL_SIZE, System.currentTimeMillis());
 
-        List<Ticket> activeTickets = ticketRepository.findByStatusNotIn(List.of(TicketStatus.RESOLVED, TicketStatus.INVALID));
+    // Backfilling needs a scan of tickets without a deadline: each node does it once before
+    // its first load, and after that the holder of partition 0 repeats it in the hourly sweep
+    private final AtomicBoolean backfilled = new AtomicBoolean();
 
-        int escalatedCount = 0;
-        for (Ticket ticket : activeTickets) {
-            if (escalateIfNeeded(ticket)) {
-                escalatedCount++;
-            }
+    // Partitions are acquired on the lease-renewal thread; loading them there could outlast
+    // the lease being loaded, so loads run one at a time on this thread instead
+    private final ExecutorService deadlineLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sla-deadline-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Recompute a ticket's SLA deadline from its tier, status, priority, creation and
+     * response times. Call before saving a ticket whose priority or status changed or
+     * that got its first response.
+     */
+    public void applySlaDeadline(Ticket ticket) {
+        if (ticket.getId() != null) {
+            ticket.setSlaPartition(clusterLeaseService.partitionOf(ticket.getId()));
+        }
+        if (ticket.getCustomerTier() == null) {
+            ticket.setCustomerTier(slaPolicyEngine.resolveTier(ticket.getCustomerEmail()));
+        }
+        boolean closed = ticket.getStatus() == TicketStatus.RESOLVED || ticket.getStatus() == TicketStatus.INVALID;
+        if (closed || ticket.getCreatedAt() == null) {
+            ticket.setSlaDeadline(null);
+            return;
+        }
+        long deadline = slaPolicyEngine.deadline(slaPolicyEngine.tierIndex(ticket.getCustomerTier()), ticket.getPriority(),
+                toEpochMillis(ticket.getCreatedAt()), toEpochMillis(ticket.getFirstRespondedAt()),
+                toEpochMillis(ticket.getLastSlaEscalationAt()));
+        ticket.setSlaDeadline(toLocalDateTime(deadline));
+    }
+
+    /**
+     * Track a saved ticket's SLA deadline, or stop tracking it if it no longer has one.
+     */
+    public void scheduleSlaDeadline(Ticket ticket) {
+        if (ticket.getSlaDeadline() == null) {
+            deadlineWheel.cancel(ticket.getId());
+        } else {
+            deadlineWheel.schedule(ticket.getId(), toEpochMillis(ticket.getSlaDeadline()));
         }
+    }
+
+    /**
+     * Load the pending deadlines of partitions this node just took over into the wheel,
+     * first giving tickets saved before deadlines existed a deadline. Returns at once;
+     * the load runs on the deadline loader thread.
+     */
+    @EventListener
+    public void loadSlaDeadlines(PartitionsAcquiredEvent event) {
+        deadlineLoader.execute(() -> {
+            try {
+                loadSlaDeadlines(event.getPartitions());
+            } catch (RuntimeException e) {
+                // The hourly sweep still escalates these partitions' overdue tickets
+                log.error("Loading SLA deadlines for partitions {} failed", event.getPartitions(), e);
+            }
+        });
+    }
 
-        log.info("SLA escalation check completed. {} tickets escalated", escalatedCount);
+    @PreDestroy
+    public void shutdown() {
+        deadlineLoader.shutdownNow();
     }
 
-    private boolean escalateIfNeeded(Ticket ticket) {
-        Priority currentPriority = ticket.getPriority();
-        if (currentPriority == null) {
-            // Skip tickets without priority
-            return false;
+    private void loadSlaDeadlines(Set<Integer> partitions) {
+        int backfilledCount = 0;
+        if (backfilled.compareAndSet(false, true)) {
+            backfilledCount = backfill();
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        long daysSinceCreation = java.time.Duration.between(ticket.getCreatedAt(), now).toDays();
+        int loaded = 0;
+        try (Stream<Ticket> tickets = ticketRepository.streamPendingSlaDeadlines(partitions)) {
+            for (Iterator<Ticket> it = tickets.iterator(); it.hasNext(); ) {
+                scheduleSlaDeadline(it.next());
+                loaded++;
+            }
+        }
 
-        Priority newPriority = null;
-        String escalationReason = null;
+        log.info("Loaded {} SLA deadlines for partitions {} ({} backfilled)", loaded, partitions, backfilledCount);
+    }
 
-        switch (currentPriority) {
-            case LOW:
-                if (daysSinceCreation >= 7) {
-                    newPriority = Priority.MEDIUM;
-                    escalationReason = "SLA breach: LOW priority ticket not closed within 7 days";
+    /**
+     * Give a deadline and partition to tickets saved without them, by an older version or
+     * a writer that skipped applySlaDeadline. Returns how many got a deadline.
+     */
+    private int backfill() {
+        int updated = backfillSlaDeadlines();
+        backfillSlaPartitions();
+        return updated;
+    }
+
+    private int backfillSlaDeadlines() {
+        int updated = 0;
+        List<Ticket> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        try (Stream<Ticket> tickets = ticketRepository.streamMissingSlaDeadlines()) {
+            for (Iterator<Ticket> it = tickets.iterator(); it.hasNext(); ) {
+                Ticket ticket = it.next();
+                applySlaDeadline(ticket);
+                if (ticket.getSlaDeadline() == null) {
+                    continue; // No rule applies to this tier and priority
                 }
-                break;
-            case MEDIUM:
-                if (daysSinceCreation >= 3) {
-                    newPriority = Priority.HIGH;
-                    escalationReason = "SLA breach: MEDIUM priority ticket not closed within 3 days";
+                batch.add(ticket);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    updated += writeBackfilledDeadlines(batch);
                 }
-                break;
-            case HIGH:
-                // Already highest priority, no escalation
-                break;
+            }
+        }
+        return updated + writeBackfilledDeadlines(batch);
+    }
+
+    // Tickets of this node's partitions also go into the wheel; other nodes' hourly sweeps find the rest
+    private int writeBackfilledDeadlines(List<Ticket> batch) {
+        int updated = ticketRepository.backfillSlaDeadlines(batch);
+        for (Ticket ticket : batch) {
+            if (clusterLeaseService.ownsPartition(ticket.getSlaPartition())) {
+                scheduleSlaDeadline(ticket);
+            }
+        }
+        batch.clear();
+        return updated;
+    }
+
+    // Stores the partition on tickets saved before partitions were stored, or under a larger
+    // scheduler.partitions, so partitioned queries find them
+    private void backfillSlaPartitions() {
+        int updated = 0;
+        List<Ticket> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        try (Stream<Ticket> tickets = ticketRepository.streamUnpartitionedSlaDeadlines(clusterLeaseService.getPartitionCount())) {
+            for (Iterator<Ticket> it = tickets.iterator(); it.hasNext(); ) {
+                Ticket ticket = it.next();
+                ticket.setSlaPartition(clusterLeaseService.partitionOf(ticket.getId()));
+                batch.add(ticket);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    updated += ticketRepository.backfillSlaPartitions(batch);
+                    batch.clear();
+                }
+            }
+        }
+        updated += ticketRepository.backfillSlaPartitions(batch);
+        if (updated > 0) {
+            log.info("Stored SLA partitions on {} tickets", updated);
+        }
+    }
+
+    /**
+     * Escalate tickets whose deadline has just passed. The wheel holds deadlines of this
+     * node's partitions plus tickets changed through this node; the guarded bulk write
+     * keeps a ticket from being escalated twice if another node fires it too.
+     */
+    @Scheduled(fixedDelay = DEADLINE_TICK_MILLIS)
+    public void escalateDueTickets() {
+        List<String> dueIds = deadlineWheel.advance(System.currentTimeMillis());
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        SlaSweepEvent jfr = SlaSweepEvent.start("deadline", false);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Priority, List<Ticket>> dueByPriority = new EnumMap<>(Priority.class);
+        meterRegistry.counter("sla.escalation.scanned", "trigger", "deadline").increment(dueIds.size());
+        for (Ticket ticket : ticketRepository.findByIdInExcludingHistory(dueIds)) {
+            if (ticket.getSlaDeadline() == null) {
+                continue; // Closed or already escalated to HIGH
+            }
+            if (ticket.getSlaDeadline().isAfter(now)) {
+                scheduleSlaDeadline(ticket); // Deadline moved since it was scheduled
+                continue;
+            }
+            if (ticket.getPriority() != null) {
+                dueByPriority.computeIfAbsent(ticket.getPriority(), p -> new ArrayList<>()).add(ticket);
+            }
+        }
+
+        int escalatedCount = escalate(dueByPriority, now);
+        meterRegistry.counter("sla.escalation.escalated", "trigger", "deadline").increment(escalatedCount);
+        jfr.finish(dueIds.size(), escalatedCount);
+        if (escalatedCount > 0) {
+            log.info("{} tickets escalated at their SLA deadline", escalatedCount);
+        }
+    }
+
+    // Run every hour as a backstop for deadlines no wheel scheduled; each node sweeps only its own partitions
+    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
+    public void escalateOverdueTickets() {
+        sweep(true);
+    }
+
+    /**
+     * Sweep every partition regardless of which node holds it (manual trigger).
+     */
+    public void escalateAllOverdueTickets() {
+        sweep(false);
+    }
+
+    private void sweep(boolean ownedPartitionsOnly) {
+        log.info("Starting SLA escalation check");
+        SlaSweepEvent jfr = SlaSweepEvent.start("sweep", !ownedPartitionsOnly);
+
+        // Tickets written without a deadline would never be found below; one node (the
+        // holder of partition 0) gives them one first, or any node on a manual sweep
+        if (!ownedPartitionsOnly || clusterLeaseService.ownsPartition(0)) {
+            int backfilledCount = backfill();
+            if (backfilledCount > 0) {
+                log.info("Gave {} tickets without one an SLA deadline", backfilledCount);
+            }
         }
 
-        if (newPriority != null) {
-            ticket.setPriority(newPriority);
-            ticket.setUpdatedAt(now);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Range scans on the slaPartition + slaDeadline index, one per owned partition: each
+        // node reads only its own overdue tickets, so cost follows overdue tickets per node
+        List<Ticket> due;
+        if (ownedPartitionsOnly) {
+            List<Integer> partitions = clusterLeaseService.getOwnedPartitions();
+            due = partitions.isEmpty() ? List.of() : ticketRepository.findDueSlaDeadlinesInPartitions(now, partitions);
+        } else {
+            due = ticketRepository.findDueSlaDeadlines(now);
+        }
+
+        Map<Priority, List<Ticket>> dueByPriority = new EnumMap<>(Priority.class);
+        int scanned = 0;
+        for (Ticket ticket : due) {
+            scanned++;
+            if (ticket.getPriority() != null) {
+                dueByPriority.computeIfAbsent(ticket.getPriority(), p -> new ArrayList<>()).add(ticket);
+            }
+        }
+
+        int escalatedCount = escalate(dueByPriority, now);
+        meterRegistry.counter("sla.escalation.scanned", "trigger", "sweep").increment(scanned);
+        meterRegistry.counter("sla.escalation.escalated", "trigger", "sweep").increment(escalatedCount);
+        jfr.finish(scanned, escalatedCount);
+
+        log.info("SLA escalation check completed. {} of {} overdue tickets escalated", escalatedCount, scanned);
+    }
+
+    // Both breach sets are selected before anything is written, so a LOW ticket escalated
+    // to MEDIUM here is not escalated again to HIGH until a later run
+    private int escalate(Map<Priority, List<Ticket>> dueByPriority, LocalDateTime now) {
+        return escalate(dueByPriority.getOrDefault(Priority.MEDIUM, List.of()), Priority.MEDIUM, Priority.HIGH, now)
+                + escalate(dueByPriority.getOrDefault(Priority.LOW, List.of()), Priority.LOW, Priority.MEDIUM, now);
+    }
+
+    private int escalate(List<Ticket> breaches, Priority currentPriority, Priority newPriority, LocalDateTime now) {
+        if (breaches.isEmpty()) {
+            return 0;
+        }
+
+        long nowMillis = toEpochMillis(now);
+        List<SlaEscalation> escalations = new ArrayList<>(breaches.size());
+        for (Ticket ticket : breaches) {
+            int tier = slaPolicyEngine.tierIndex(ticket.getCustomerTier());
+            long createdAt = toEpochMillis(ticket.getCreatedAt());
+            long firstRespondedAt = toEpochMillis(ticket.getFirstRespondedAt());
 
-            // Add activity
             Activity activity = Activity.builder()
                     .id(UUID.randomUUID().toString())
                     .userId("SYSTEM")
                     .userName("System")
                     .action("SLA_ESCALATION")
-                    .details(escalationReason + ". Priority escalated from " + currentPriority + " to " + newPriority)
+                    .details(slaPolicyEngine.breachReason(tier, currentPriority, createdAt, firstRespondedAt, nowMillis)
+                            + ". Priority escalated from " + currentPriority + " to " + newPriority)
                     .timestamp(now)
                     .build();
-            ticket.getActivities().add(activity);
+            escalations.add(SlaEscalation.builder()
+                    .ticketId(ticket.getId())
+                    .activity(activity)
+                    .nextSlaDeadline(toLocalDateTime(
+                            slaPolicyEngine.deadline(tier, newPriority, createdAt, firstRespondedAt, nowMillis)))
+                    .build());
+        }
 
-            ticketRepository.save(ticket);
-            ticketElasticsearchService.indexTicket(ticket);
+        int escalated = ticketRepository.escalatePriority(escalations, currentPriority, newPriority, now);
 
-            log.info("Escalated ticket {} from {} to {} due to SLA breach", ticket.getId(), currentPriority, newPriority);
-            return true;
+        // Re-read rather than patching the selected tickets, so the index and the wheel
+        // reflect any ticket that changed between selection and the bulk write
+        List<String> ticketIds = escalations.stream().map(SlaEscalation::getTicketId).collect(Collectors.toList());
+        for (Ticket ticket : ticketRepository.findByIdInExcludingHistory(ticketIds)) {
+            ticketElasticsearchService.indexTicket(ticket);
+            scheduleSlaDeadline(ticket);
+            if (ticket.getPriority() == newPriority) {
+                eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.ESCALATED, ticket,
+                        ticket.getAssignedAgentId(), ticket.getStatus(), currentPriority));
+            }
         }
 
-        return false;
+        log.info("Escalated {} tickets from {} to {} due to SLA breach", escalated, currentPriority, newPriority);
+        return escalated;
+    }
+
+    // -1 for a missing time, matching SlaPolicyEngine
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return epochMillis != SlaPolicyEngine.NO_DEADLINE
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault())
+                : null;
     }
-}
\ No newline at end of file
+}
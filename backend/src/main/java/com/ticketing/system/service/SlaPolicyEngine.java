@@ -0,0 +1,214 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.config.SlaPolicyProperties;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.util.BusinessHoursCalendar;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SLA rules compiled into a flat decision table.
+ *
+ * At startup every (customer tier, priority) pair is resolved against the ordered
+ * rule list once, and the winning rule's limits are stored in primitive arrays
+ * indexed by tier * priorities + priority. Evaluating a ticket is then an array
+ * lookup: no rule matching, reflection or allocation, except for walking a
+ * business-hours calendar when the rule has one.
+ *
+ * Only LOW and MEDIUM tickets get deadlines, since a breach escalates the ticket one
+ * priority level and HIGH cannot go higher.
+ */
+@Service
+@Slf4j
+public class SlaPolicyEngine {
+
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    // Marks a table cell without a first-response or resolution limit
+    private static final long NO_LIMIT = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final String[] tierNames;
+    private final Map<String, Integer> tierIndexByName = new HashMap<>();
+    private final Map<String, Integer> tierIndexByDomain = new HashMap<>();
+    private final int defaultTierIndex;
+    private final long escalationGraceMillis;
+
+    // Decision table
+    private final long[] firstResponseMillis;
+    private final long[] resolutionMillis;
+    private final BusinessHoursCalendar[] calendars;
+    private final String[] firstResponseReasons;
+    private final String[] resolutionReasons;
+
+    public SlaPolicyEngine(SlaPolicyProperties properties) {
+        List<String> tiers = new ArrayList<>(properties.getTiers().keySet());
+        if (!tiers.contains(properties.getDefaultTier())) {
+            tiers.add(properties.getDefaultTier());
+        }
+        this.tierNames = tiers.toArray(new String[0]);
+        for (int i = 0; i < tierNames.length; i++) {
+            tierIndexByName.put(tierNames[i], i);
+        }
+        this.defaultTierIndex = tierIndexByName.get(properties.getDefaultTier());
+        properties.getTiers().forEach((tier, domains) -> {
+            for (String domain : domains) {
+                tierIndexByDomain.put(domain.toLowerCase(Locale.ROOT), tierIndexByName.get(tier));
+            }
+        });
+        this.escalationGraceMillis = properties.getEscalationGrace().toMillis();
+
+        Map<String, BusinessHoursCalendar> namedCalendars = new HashMap<>();
+        properties.getCalendars().forEach((name, hours) -> namedCalendars.put(name, toCalendar(hours)));
+
+        int cells = tierNames.length * PRIORITIES.length;
+        this.firstResponseMillis = new long[cells];
+        this.resolutionMillis = new long[cells];
+        this.calendars = new BusinessHoursCalendar[cells];
+        this.firstResponseReasons = new String[cells];
+        this.resolutionReasons = new String[cells];
+
+        for (int tier = 0; tier < tierNames.length; tier++) {
+            for (Priority priority : PRIORITIES) {
+                int cell = cell(tier, priority);
+                SlaPolicyProperties.Rule rule = firstMatchingRule(properties.getRules(), tierNames[tier], priority);
+
+                firstResponseMillis[cell] = rule != null && rule.getFirstResponse() != null ? rule.getFirstResponse().toMillis() : NO_LIMIT;
+                resolutionMillis[cell] = rule != null && rule.getResolution() != null ? rule.getResolution().toMillis() : NO_LIMIT;
+                if (rule != null && rule.getCalendar() != null) {
+                    calendars[cell] = namedCalendars.get(rule.getCalendar());
+                    if (calendars[cell] == null) {
+                        throw new IllegalStateException("SLA rule refers to unknown calendar: " + rule.getCalendar());
+                    }
+                }
+
+                String timeUnit = calendars[cell] != null ? " business" : "";
+                if (firstResponseMillis[cell] != NO_LIMIT) {
+                    firstResponseReasons[cell] = "SLA breach: " + priority + " priority ticket not responded to within "
+                            + describe(rule.getFirstResponse(), timeUnit);
+                }
+                if (resolutionMillis[cell] != NO_LIMIT) {
+                    resolutionReasons[cell] = "SLA breach: " + priority + " priority ticket not closed within "
+                            + describe(rule.getResolution(), timeUnit);
+                }
+            }
+        }
+
+        log.info("Compiled SLA policy: {} rules into {} tiers x {} priorities", properties.getRules().size(),
+                tierNames.length, PRIORITIES.length);
+    }
+
+    /**
+     * Tier of a customer, from the domain of their email address.
+     */
+    public String resolveTier(String customerEmail) {
+        if (customerEmail != null) {
+            int at = customerEmail.lastIndexOf('@');
+            if (at >= 0) {
+                Integer tier = tierIndexByDomain.get(customerEmail.substring(at + 1).toLowerCase(Locale.ROOT));
+                if (tier != null) {
+                    return tierNames[tier];
+                }
+            }
+        }
+        return tierNames[defaultTierIndex];
+    }
+
+    public int tierIndex(String tier) {
+        Integer index = tier != null ? tierIndexByName.get(tier) : null;
+        return index != null ? index : defaultTierIndex;
+    }
+
+    /**
+     * Next SLA deadline of an open ticket in epoch milliseconds, or NO_DEADLINE.
+     * Pass -1 for firstRespondedAt / lastEscalatedAt when they have not happened.
+     */
+    public long deadline(int tier, Priority priority, long createdAt, long firstRespondedAt, long lastEscalatedAt) {
+        if (priority == null || priority == Priority.HIGH) {
+            return NO_DEADLINE;
+        }
+        int cell = cell(tier, priority);
+
+        long deadline = NO_DEADLINE;
+        if (firstRespondedAt < 0 && firstResponseMillis[cell] != NO_LIMIT) {
+            deadline = addTime(cell, createdAt, firstResponseMillis[cell]);
+        }
+        if (resolutionMillis[cell] != NO_LIMIT) {
+            deadline = Math.min(deadline, addTime(cell, createdAt, resolutionMillis[cell]));
+        }
+        if (deadline != NO_DEADLINE && lastEscalatedAt >= 0) {
+            deadline = Math.max(deadline, lastEscalatedAt + escalationGraceMillis);
+        }
+        return deadline;
+    }
+
+    /**
+     * Activity text for a ticket that reached its deadline: a missed first response
+     * takes precedence over a missed resolution.
+     */
+    public String breachReason(int tier, Priority priority, long createdAt, long firstRespondedAt, long now) {
+        int cell = cell(tier, priority);
+        if (firstRespondedAt < 0 && firstResponseMillis[cell] != NO_LIMIT
+                && addTime(cell, createdAt, firstResponseMillis[cell]) <= now) {
+            return firstResponseReasons[cell];
+        }
+        return resolutionReasons[cell] != null ? resolutionReasons[cell] : "SLA breach: " + priority + " priority ticket overdue";
+    }
+
+    private long addTime(int cell, long start, long millis) {
+        BusinessHoursCalendar calendar = calendars[cell];
+        return calendar != null ? calendar.addBusinessTime(start, millis) : start + millis;
+    }
+
+    private static int cell(int tier, Priority priority) {
+        return tier * PRIORITIES.length + priority.ordinal();
+    }
+
+    private static SlaPolicyProperties.Rule firstMatchingRule(List<SlaPolicyProperties.Rule> rules, String tier, Priority priority) {
+        for (SlaPolicyProperties.Rule rule : rules) {
+            if ((rule.getTier() == null || rule.getTier().equals(tier))
+                    && (rule.getPriority() == null || rule.getPriority() == priority)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static BusinessHoursCalendar toCalendar(SlaPolicyProperties.BusinessHours hours) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : hours.getDays()) {
+            days.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+        }
+        Set<LocalDate> holidays = new HashSet<>();
+        for (String holiday : hours.getHolidays()) {
+            holidays.add(LocalDate.parse(holiday));
+        }
+        return new BusinessHoursCalendar(ZoneId.of(hours.getZone()), days,
+                LocalTime.parse(hours.getStart()), LocalTime.parse(hours.getEnd()), holidays);
+    }
+
+    private static String describe(Duration duration, String timeUnit) {
+        if (duration.toHours() % 24 == 0 && duration.toMinutes() % 60 == 0 && timeUnit.isEmpty()) {
+            return duration.toDays() + " days";
+        }
+        if (duration.toMinutes() % 60 == 0) {
+            return duration.toHours() + timeUnit + " hours";
+        }
+        return duration.toMinutes() + timeUnit + " minutes";
+    }
+}
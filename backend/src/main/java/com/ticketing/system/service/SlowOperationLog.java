@@ -0,0 +1,61 @@
+package com.ticketing.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Logs Elasticsearch calls that took longer than slow-operation.threshold to the
+ * com.ticketing.system.slow logger. Entries carry the shape of the request (operation,
+ * scope, query length and term count, paging, hits) but never the query text, which
+ * is user input.
+ */
+@Component
+public class SlowOperationLog {
+
+    private static final Logger log = LoggerFactory.getLogger("com.ticketing.system.slow");
+
+    private final long thresholdNanos;
+
+    public SlowOperationLog(@Value("${slow-operation.threshold:200ms}") Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    /**
+     * Record a search or count that started at startNanos (System.nanoTime()).
+     */
+    public void search(String operation, String scope, String query, int from, int size, long hits, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed < thresholdNanos) {
+            return;
+        }
+        log.warn("Slow {} {}: {} {} {} {} {} {}",
+                kv("operation", operation),
+                kv("scope", scope),
+                kv("durationMs", elapsed / 1_000_000),
+                kv("queryLength", query != null ? query.length() : 0),
+                kv("queryTerms", query != null && !query.isBlank() ? query.trim().split("\\s+").length : 0),
+                kv("from", from),
+                kv("size", size),
+                kv("hits", hits));
+    }
+
+    /**
+     * Record an index, bulk index or delete call that started at startNanos.
+     */
+    public void index(String operation, int documents, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed < thresholdNanos) {
+            return;
+        }
+        log.warn("Slow {}: {} {}",
+                kv("operation", operation),
+                kv("durationMs", elapsed / 1_000_000),
+                kv("documents", documents));
+    }
+}
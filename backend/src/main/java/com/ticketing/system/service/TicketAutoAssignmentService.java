@@ -1,5 +1,7 @@
 package com.ticketing.system.service;
 
+import com.ticketing.system.event.TicketChangeEvent;
+import com.ticketing.system.jfr.AutoAssignRunEvent;
 import com.ticketing.system.model.Activity;
 import com.ticketing.system.model.AgentWorkload;
 import com.ticketing.system.model.Priority;
@@ -9,8 +11,12 @@ import com.ticketing.system.model.TicketStatus;
 import com.ticketing.system.model.User;
 import com.ticketing.system.repository.TicketRepository;
 import com.ticketing.system.repository.UserRepository;
+import com.ticketing.system.util.MongoCommandCounter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -31,6 +37,9 @@ public class TicketAutoAssignmentService {
 
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final UserDirectoryService userDirectoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     // Priority weights for workload calculation
     private static final double HIGH_PRIORITY_WEIGHT = 0.5;
@@ -85,7 +94,7 @@ public class TicketAutoAssignmentService {
      *
      * Formula: score = 0.5*high + 0.3*medium + 0.2*low
      */
-    private double calculateWorkloadScore(int highCount, int mediumCount, int lowCount) {
+    public static double calculateWorkloadScore(int highCount, int mediumCount, int lowCount) {
         return (HIGH_PRIORITY_WEIGHT * highCount) +
                (MEDIUM_PRIORITY_WEIGHT * mediumCount) +
                (LOW_PRIORITY_WEIGHT * lowCount);
@@ -105,7 +114,7 @@ public class TicketAutoAssignmentService {
         workloads.sort(Comparator.comparingDouble(AgentWorkload::getWorkloadScore));
 
         String bestAgentId = workloads.get(0).getAgentId();
-        return userRepository.findById(bestAgentId);
+        return userDirectoryService.findById(bestAgentId);
     }
 
     /**
@@ -125,6 +134,7 @@ public class TicketAutoAssignmentService {
         }
 
         User agent = bestAgent.get();
+        String previousAgentId = ticket.getAssignedAgentId();
         ticket.setAssignedAgentId(agent.getId());
         ticket.setAssignedAgentName(agent.getName());
         ticket.setAutoAssigned(true);
@@ -142,13 +152,19 @@ public class TicketAutoAssignmentService {
         ticket.getActivities().add(activity);
 
         log.info("Auto-assigned ticket {} to agent {} ({})", ticket.getId(), agent.getName(), agent.getEmail());
-        return ticketRepository.save(ticket);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.ASSIGNED, savedTicket,
+                previousAgentId, savedTicket.getStatus(), savedTicket.getPriority()));
+        return savedTicket;
     }
 
     /**
      * Auto-assign all unassigned tickets by priority order.
      */
+    @Timed("tickets.autoassign.run")
     public List<Ticket> autoAssignAllUnassignedTickets() {
+        AutoAssignRunEvent jfr = AutoAssignRunEvent.start();
+        long commandsBefore = MongoCommandCounter.commandsOnCurrentThread();
         List<Ticket> unassignedTickets = ticketRepository.findByAssignedAgentIdIsNull()
                 .stream()
                 .filter(ticket -> ticket.getPriority() != null)
@@ -171,6 +187,12 @@ public class TicketAutoAssignmentService {
             }
         }
 
+        // Per-run totals; assigned tickets over the run timer gives the assignment rate
+        meterRegistry.counter("tickets.autoassign.assigned").increment(assignedTickets.size());
+        long commands = MongoCommandCounter.commandsOnCurrentThread() - commandsBefore;
+        meterRegistry.summary("tickets.autoassign.queries").record(commands);
+        jfr.finish(unassignedTickets.size(), assignedTickets.size(), commands);
+
         log.info("Auto-assigned {} tickets out of {} unassigned tickets with priorities",
                 assignedTickets.size(), unassignedTickets.size());
         return assignedTickets;
@@ -199,7 +221,7 @@ public class TicketAutoAssignmentService {
             }
 
             AgentWorkload workload = agentWorkloads.get(agentIndex);
-            Optional<User> agentOpt = userRepository.findById(workload.getAgentId());
+            Optional<User> agentOpt = userDirectoryService.findById(workload.getAgentId());
 
             if (agentOpt.isPresent()) {
                 User agent = agentOpt.get();
@@ -221,6 +243,8 @@ public class TicketAutoAssignmentService {
 
                 ticketRepository.save(ticket);
                 assignedTickets.add(ticket);
+                eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.ASSIGNED, ticket,
+                        null, ticket.getStatus(), ticket.getPriority()));
 
                 log.info("Auto-assigned {} priority ticket {} to agent {} (workload: {})",
                         ticket.getPriority(), ticket.getId(), agent.getName(), workload.getWorkloadScore());
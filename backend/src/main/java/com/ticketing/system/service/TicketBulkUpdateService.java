@@ -0,0 +1,241 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.BulkTicketUpdateResponse;
+import com.ticketing.system.dto.BulkTicketUpdateResult;
+import com.ticketing.system.dto.TicketMutation;
+import com.ticketing.system.event.TicketChangeEvent;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.model.Activity;
+import com.ticketing.system.model.Priority;
+import com.ticketing.system.model.Role;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.model.TicketUpdate;
+import com.ticketing.system.model.User;
+import com.ticketing.system.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many ticket changes in one request.
+ *
+ * Every mutation is validated like its single-ticket endpoint would validate it, then
+ * all valid ones are written with one MongoDB bulk write and indexed with one
+ * Elasticsearch _bulk request. A mutation that fails validation, or whose ticket
+ * changed between validation and the write, is reported and does not affect the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketBulkUpdateService {
+
+    private final TicketRepository ticketRepository;
+    private final UserDirectoryService userDirectoryService;
+    private final TicketElasticsearchService ticketElasticsearchService;
+    private final SlaEscalationService slaEscalationService;
+    private final TicketService ticketService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BulkTicketUpdateResponse applyMutations(List<TicketMutation> mutations, String userId) {
+        User actor = userDirectoryService.findById(userId)
+                .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
+
+        Set<String> ticketIds = mutations.stream().map(TicketMutation::getTicketId).collect(Collectors.toSet());
+        Map<String, Ticket> tickets = ticketRepository.findByIdInExcludingHistory(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkTicketUpdateResult[] results = new BulkTicketUpdateResult[mutations.size()];
+        Map<String, PendingChange> pending = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < mutations.size(); i++) {
+            TicketMutation mutation = mutations.get(i);
+            try {
+                if (!seen.add(mutation.getTicketId())) {
+                    throw new ApiException("Ticket appears more than once in this request", HttpStatus.BAD_REQUEST);
+                }
+                Ticket ticket = tickets.get(mutation.getTicketId());
+                if (ticket == null) {
+                    throw new ApiException("Ticket not found", HttpStatus.NOT_FOUND);
+                }
+                String previousAgentId = ticket.getAssignedAgentId();
+                TicketStatus previousStatus = ticket.getStatus();
+                Priority previousPriority = ticket.getPriority();
+                TicketUpdate update = apply(ticket, mutation, actor, now);
+                pending.put(ticket.getId(), new PendingChange(i, update, previousAgentId, previousStatus, previousPriority));
+            } catch (ApiException e) {
+                results[i] = failure(mutation.getTicketId(), e.getStatus(), e.getMessage());
+            }
+        }
+
+        ticketRepository.applyTicketUpdates(pending.values().stream()
+                .map(change -> change.update)
+                .collect(Collectors.toList()));
+
+        // Re-read to find out which writes landed: each one pushed activities with ids made
+        // here, which a ticket that changed after it was validated never received. Later
+        // writes by others do not hide them, unlike comparing updatedAt would
+        List<String> markerActivityIds = pending.values().stream()
+                .map(change -> change.update.getActivities().get(0).getId())
+                .collect(Collectors.toList());
+        List<Ticket> updated = ticketRepository.findByIdInWithActivityExcludingHistory(
+                pending.keySet(), markerActivityIds);
+        ticketElasticsearchService.indexTickets(updated);
+
+        for (Ticket ticket : updated) {
+            PendingChange change = pending.remove(ticket.getId());
+            slaEscalationService.scheduleSlaDeadline(ticket);
+            // Classified by what this request changed, not by what the ticket looks like now
+            eventPublisher.publishEvent(new TicketChangeEvent(changeType(change, change.update.getTicket()), ticket,
+                    change.previousAgentId, change.previousStatus, change.previousPriority));
+            results[change.index] = BulkTicketUpdateResult.builder()
+                    .ticketId(ticket.getId())
+                    .success(true)
+                    .status(HttpStatus.OK.value())
+                    .ticket(ticketService.mapToTicketSummary(ticket))
+                    .build();
+        }
+        for (PendingChange change : pending.values()) {
+            results[change.index] = failure(change.update.getTicket().getId(), HttpStatus.CONFLICT,
+                    "Ticket changed while the update was being applied; reload and try again");
+        }
+
+        int ticketsUpdated = updated.size();
+        log.info("Bulk update by {}: {} of {} tickets updated", userId, ticketsUpdated, mutations.size());
+        return BulkTicketUpdateResponse.builder()
+                .ticketsUpdated(ticketsUpdated)
+                .ticketsFailed(mutations.size() - ticketsUpdated)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Validate a mutation and apply it to the ticket, with the same rules as
+     * updatePriority, assignTicket and updateStatus in TicketService.
+     */
+    private TicketUpdate apply(Ticket ticket, TicketMutation mutation, User actor, LocalDateTime now) {
+        if (mutation.getPriority() == null && mutation.getAgentId() == null && mutation.getStatus() == null) {
+            throw new ApiException("Nothing to change", HttpStatus.BAD_REQUEST);
+        }
+        LocalDateTime expectedUpdatedAt = ticket.getUpdatedAt();
+        List<Activity> activities = new ArrayList<>();
+
+        if (mutation.getPriority() != null) {
+            if (actor.getRole() != Role.MANAGER) {
+                throw new ApiException("Only managers can update ticket priority", HttpStatus.FORBIDDEN);
+            }
+            Priority oldPriority = ticket.getPriority();
+            ticket.setPriority(mutation.getPriority());
+            activities.add(activity(actor, "PRIORITY_CHANGED", "Priority changed from "
+                    + (oldPriority != null ? oldPriority : "NONE") + " to " + mutation.getPriority(), now));
+        }
+
+        if (mutation.getAgentId() != null) {
+            if (actor.getRole() != Role.MANAGER) {
+                throw new ApiException("Only managers can assign tickets", HttpStatus.FORBIDDEN);
+            }
+            if (ticket.getPriority() == null) {
+                throw new ApiException("Cannot assign ticket without priority. Please set priority first.", HttpStatus.BAD_REQUEST);
+            }
+            User agent = userDirectoryService.findById(mutation.getAgentId())
+                    .orElseThrow(() -> new ApiException("Agent not found", HttpStatus.NOT_FOUND));
+            if (agent.getRole() != Role.AGENT) {
+                throw new ApiException("Can only assign tickets to agents", HttpStatus.BAD_REQUEST);
+            }
+            String previousAgent = ticket.getAssignedAgentName();
+            ticket.setAssignedAgentId(agent.getId());
+            ticket.setAssignedAgentName(agent.getName());
+            activities.add(activity(actor, "TICKET_ASSIGNED", previousAgent == null
+                    ? "Ticket assigned to " + agent.getName()
+                    : "Ticket reassigned from " + previousAgent + " to " + agent.getName(), now));
+        }
+
+        if (mutation.getStatus() != null) {
+            if (!actor.getId().equals(ticket.getAssignedAgentId())) {
+                throw new ApiException("You are not authorized to update this ticket", HttpStatus.FORBIDDEN);
+            }
+            TicketStatus previousStatus = ticket.getStatus();
+            TicketService.validateStatusTransition(previousStatus, mutation.getStatus());
+            ticket.setStatus(mutation.getStatus());
+            if (mutation.getStatus() == TicketStatus.RESOLVED || mutation.getStatus() == TicketStatus.INVALID) {
+                ticket.setClosedAt(now);
+            }
+            if (ticket.getFirstRespondedAt() == null) {
+                ticket.setFirstRespondedAt(now);
+            }
+            activities.add(activity(actor, "STATUS_CHANGED",
+                    "Status changed from " + previousStatus + " to " + mutation.getStatus(), now));
+        }
+
+        ticket.setUpdatedAt(now);
+        slaEscalationService.applySlaDeadline(ticket);
+        return TicketUpdate.builder()
+                .ticket(ticket)
+                .activities(activities)
+                .expectedUpdatedAt(expectedUpdatedAt)
+                .build();
+    }
+
+    private static TicketChangeEvent.ChangeType changeType(PendingChange change, Ticket ticket) {
+        if (ticket.getStatus() != change.previousStatus) {
+            return TicketChangeEvent.ChangeType.STATUS_CHANGED;
+        }
+        if (!Objects.equals(ticket.getAssignedAgentId(), change.previousAgentId)) {
+            return TicketChangeEvent.ChangeType.ASSIGNED;
+        }
+        return TicketChangeEvent.ChangeType.PRIORITY_CHANGED;
+    }
+
+    private static Activity activity(User actor, String action, String details, LocalDateTime now) {
+        return Activity.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(actor.getId())
+                .userName(actor.getName())
+                .action(action)
+                .details(details)
+                .timestamp(now)
+                .build();
+    }
+
+    private static BulkTicketUpdateResult failure(String ticketId, HttpStatus status, String message) {
+        return BulkTicketUpdateResult.builder()
+                .ticketId(ticketId)
+                .success(false)
+                .status(status.value())
+                .message(message)
+                .build();
+    }
+
+    private static final class PendingChange {
+        private final int index;
+        private final TicketUpdate update;
+        private final String previousAgentId;
+        private final TicketStatus previousStatus;
+        private final Priority previousPriority;
+
+        PendingChange(int index, TicketUpdate update, String previousAgentId, TicketStatus previousStatus, Priority previousPriority) {
+            this.index = index;
+            this.update = update;
+            this.previousAgentId = previousAgentId;
+            this.previousStatus = previousStatus;
+            this.previousPriority = previousPriority;
+        }
+    }
+}
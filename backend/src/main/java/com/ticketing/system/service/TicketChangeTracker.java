@@ -0,0 +1,94 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.event.TicketChangeEvent;
+import com.ticketing.system.model.Ticket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters behind the weak ETags of ticket list and workload responses.
+ *
+ * Every ticket change bumps the counter of each view it can affect, so a list ETag
+ * can be compared without querying MongoDB. A tag must be taken before the data is
+ * read: a change that lands during the read then already makes the tag stale.
+ *
+ * Counters only see changes made through this instance. Tags include an instance
+ * epoch, so they never match across instances or restarts, and a time bucket, so a
+ * change made through another instance shows up within etag.list-tag-lifetime.
+ */
+@Component
+public class TicketChangeTracker {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final long tagLifetimeMillis;
+
+    private final AtomicLong allTickets = new AtomicLong();
+    private final AtomicLong unassignedTickets = new AtomicLong();
+    private final AtomicLong workloads = new AtomicLong();
+    private final Map<String, AtomicLong> agentTickets = new ConcurrentHashMap<>();
+
+    public TicketChangeTracker(@Value("${etag.list-tag-lifetime:30s}") Duration tagLifetime) {
+        this.tagLifetimeMillis = Math.max(1, tagLifetime.toMillis());
+    }
+
+    @EventListener
+    public void onTicketChange(TicketChangeEvent event) {
+        Ticket ticket = event.getTicket();
+        allTickets.incrementAndGet();
+        if (event.getPreviousAgentId() == null || ticket.getAssignedAgentId() == null) {
+            unassignedTickets.incrementAndGet();
+        }
+        if (event.getPreviousAgentId() != null) {
+            agentCounter(event.getPreviousAgentId()).incrementAndGet();
+        }
+        if (ticket.getAssignedAgentId() != null) {
+            agentCounter(ticket.getAssignedAgentId()).incrementAndGet();
+        }
+        // A comment changes no assignee, status or priority
+        if (event.getType() != TicketChangeEvent.ChangeType.COMMENTED) {
+            workloads.incrementAndGet();
+        }
+    }
+
+    /**
+     * Make every list and workload tag stale, for bulk writes that publish no events.
+     */
+    public void invalidateAll() {
+        allTickets.incrementAndGet();
+        unassignedTickets.incrementAndGet();
+        workloads.incrementAndGet();
+        agentTickets.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    public String allTicketsTag() {
+        return tag("all", allTickets.get());
+    }
+
+    public String unassignedTicketsTag() {
+        return tag("unassigned", unassignedTickets.get());
+    }
+
+    public String agentTicketsTag(String agentId) {
+        return tag("agent-" + agentId, agentCounter(agentId).get());
+    }
+
+    public String workloadsTag() {
+        return tag("workloads", workloads.get());
+    }
+
+    private AtomicLong agentCounter(String agentId) {
+        return agentTickets.computeIfAbsent(agentId, id -> new AtomicLong());
+    }
+
+    private String tag(String scope, long counter) {
+        long bucket = System.currentTimeMillis() / tagLifetimeMillis;
+        return "W/\"" + scope + "-" + epoch + "-" + counter + "-" + bucket + "\"";
+    }
+}
@@ -4,25 +4,33 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
+import co.elastic.clients.elasticsearch.indices.RefreshRequest;
 import com.ticketing.system.dto.TicketSummaryResponse;
+import com.ticketing.system.jfr.SearchExecutedEvent;
 import com.ticketing.system.model.Ticket;
 import com.ticketing.system.model.TicketDocument;
 import com.ticketing.system.repository.TicketDocumentRepository;
 import com.ticketing.system.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -32,43 +40,74 @@ public class TicketElasticsearchService {
     private final TicketDocumentRepository ticketDocumentRepository;
     private final ElasticsearchClient elasticsearchClient;
     private final TicketRepository ticketRepository;
+    private final SlowOperationLog slowOperationLog;
 
+    // Tickets per _bulk request when the whole index is rebuilt
+    @Value("${reindex.batch-size:1000}")
+    private int reindexBatchSize;
+
+    @Timed(value = "tickets.index", extraTags = {"operation", "index"})
     public void indexTicket(Ticket ticket) {
-        log.info("Indexing ticket with ID: {}", ticket.getId());
+        log.debug("Indexing ticket with ID: {}", ticket.getId());
+        long start = System.nanoTime();
         try {
-            // Format LocalDateTime to ISO string for ES indexing
-            String createdAt = ticket.getCreatedAt() != null ? ticket.getCreatedAt().truncatedTo(ChronoUnit.MILLIS).toString() : null;
-            String updatedAt = ticket.getUpdatedAt() != null ? ticket.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS).toString() : null;
-            String closedAt = ticket.getClosedAt() != null ? ticket.getClosedAt().truncatedTo(ChronoUnit.MILLIS).toString() : null;
-
-            TicketDocument doc = TicketDocument.builder()
-                    .id(ticket.getId())
-                    .title(ticket.getTitle())
-                    .description(ticket.getDescription())
-                    .status(ticket.getStatus().name())
-                    .priority(ticket.getPriority() != null ? ticket.getPriority().name() : null)
-                    .assignedAgentId(ticket.getAssignedAgentId())
-                    .assignedAgentName(ticket.getAssignedAgentName())
-                    .customerEmail(ticket.getCustomerEmail())
-                    .customerName(ticket.getCustomerName())
-                    .createdAt(createdAt)
-                    .updatedAt(updatedAt)
-                    .closedAt(closedAt)
-                    .autoAssigned(ticket.isAutoAssigned())
-                    .build();
-            ticketDocumentRepository.save(doc);
-            log.info("Successfully indexed ticket with ID: {}", ticket.getId());
+            ticketDocumentRepository.save(toDocument(ticket));
+            slowOperationLog.index("index", 1, start);
         } catch (Exception e) {
             log.error("Error indexing ticket with ID: {}", ticket.getId(), e);
             throw e;
         }
     }
 
+    /**
+     * Index several tickets with a single _bulk request.
+     */
+    @Timed(value = "tickets.index", extraTags = {"operation", "bulk"})
+    public void indexTickets(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        log.debug("Bulk indexing {} tickets", tickets.size());
+        long start = System.nanoTime();
+        try {
+            ticketDocumentRepository.saveAll(tickets.stream().map(this::toDocument).collect(Collectors.toList()));
+            slowOperationLog.index("bulk", tickets.size(), start);
+        } catch (Exception e) {
+            log.error("Error bulk indexing {} tickets", tickets.size(), e);
+            throw e;
+        }
+    }
+
+    private TicketDocument toDocument(Ticket ticket) {
+        // Format LocalDateTime to ISO string for ES indexing
+        String createdAt = ticket.getCreatedAt() != null ? ticket.getCreatedAt().truncatedTo(ChronoUnit.MILLIS).toString() : null;
+        String updatedAt = ticket.getUpdatedAt() != null ? ticket.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS).toString() : null;
+        String closedAt = ticket.getClosedAt() != null ? ticket.getClosedAt().truncatedTo(ChronoUnit.MILLIS).toString() : null;
+
+        return TicketDocument.builder()
+                .id(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .status(ticket.getStatus().name())
+                .priority(ticket.getPriority() != null ? ticket.getPriority().name() : null)
+                .assignedAgentId(ticket.getAssignedAgentId())
+                .assignedAgentName(ticket.getAssignedAgentName())
+                .customerEmail(ticket.getCustomerEmail())
+                .customerName(ticket.getCustomerName())
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .closedAt(closedAt)
+                .autoAssigned(ticket.isAutoAssigned())
+                .build();
+    }
+
+    @Timed(value = "tickets.index", extraTags = {"operation", "delete"})
     public void deleteTicket(String id) {
-        log.info("Deleting ticket document with ID: {}", id);
+        log.debug("Deleting ticket document with ID: {}", id);
+        long start = System.nanoTime();
         try {
             ticketDocumentRepository.deleteById(id);
-            log.info("Successfully deleted ticket document with ID: {}", id);
+            slowOperationLog.index("delete", 1, start);
         } catch (Exception e) {
             log.error("Error deleting ticket document with ID: {}", id, e);
             throw e;
@@ -86,38 +125,59 @@ public class TicketElasticsearchService {
         }
     }
 
+    /**
+     * Make everything indexed so far visible to searches and counts, without waiting for
+     * the index refresh interval.
+     */
+    public void refreshIndex() {
+        try {
+            elasticsearchClient.indices().refresh(RefreshRequest.of(r -> r.index("tickets")));
+        } catch (Exception e) {
+            log.warn("Error refreshing tickets index", e);
+        }
+    }
+
+    /**
+     * Rebuild the index from MongoDB. Tickets are read from a cursor without their comments
+     * and activities and indexed reindex.batch-size at a time, so memory stays bounded
+     * however many tickets there are.
+     */
     public void reindexAllTickets() {
         log.info("Starting reindexing of all tickets");
         try {
             deleteIndex(); // Delete index to ensure fresh mapping
-            List<Ticket> allTickets = ticketRepository.findAll();
-            for (Ticket ticket : allTickets) {
-                indexTicket(ticket);
+            long indexed = 0;
+            List<Ticket> batch = new ArrayList<>(reindexBatchSize);
+            try (Stream<Ticket> tickets = ticketRepository.streamSummaries()) {
+                Iterator<Ticket> iterator = tickets.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == reindexBatchSize) {
+                        indexTickets(batch);
+                        indexed += batch.size();
+                        batch = new ArrayList<>(reindexBatchSize);
+                    }
+                }
             }
-            log.info("Successfully reindexed {} tickets", allTickets.size());
+            indexTickets(batch);
+            indexed += batch.size();
+            refreshIndex();
+            log.info("Successfully reindexed {} tickets", indexed);
         } catch (Exception e) {
             log.error("Error reindexing all tickets", e);
             throw e;
         }
     }
 
+    @Timed(value = "tickets.search", extraTags = {"operation", "autocomplete", "scope", "agent"})
     public List<TicketSummaryResponse> fuzzySearchForAgent(String agentId, String query, int limit) {
-        log.info("Fuzzy search for agent: {}, query: '{}', limit: {}", agentId, query, limit);
+        log.debug("Fuzzy search for agent: {}, query: '{}', limit: {}", agentId, query, limit);
+        long start = System.nanoTime();
+        SearchExecutedEvent jfr = SearchExecutedEvent.start();
         try {
-            BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-            boolBuilder.must(TermQuery.of(t -> t.field("assignedAgentId").value(agentId))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.minimumShouldMatch("1");
-
-            // If query looks like a valid ticket ID, also search by ID
-            if (isValidIdPattern(query)) {
-                boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
-            }
-
             SearchRequest searchRequest = SearchRequest.of(s -> s
                     .index("tickets")
-                    .query(boolBuilder.build()._toQuery())
+                    .query(fuzzyQuery(agentId, query))
                     .size(limit)
                     .sort(so -> so.field(f -> f.field("priority").order(SortOrder.Desc))) // HIGH first (HIGH has highest ordinal)
                     .sort(so -> so.field(f -> f.field("createdAt").order(SortOrder.Desc))) // Then newest first
@@ -129,7 +189,9 @@ public class TicketElasticsearchService {
                     .map(this::mapToSummary)
                     .collect(Collectors.toList());
 
-            log.info("Fuzzy search for agent returned {} results", results.size());
+            log.debug("Fuzzy search for agent returned {} results", results.size());
+            slowOperationLog.search("autocomplete", "agent", query, 0, limit, results.size(), start);
+            jfr.finish("autocomplete", "agent", agentId, query, 0, limit, results.size(), response.took());
             return results;
         } catch (IOException e) {
             log.error("Error performing fuzzy search for agent: {}, query: '{}'", agentId, query, e);
@@ -137,22 +199,15 @@ public class TicketElasticsearchService {
         }
     }
 
+    @Timed(value = "tickets.search", extraTags = {"operation", "autocomplete", "scope", "all"})
     public List<TicketSummaryResponse> fuzzySearchAll(String query, int limit) {
-        log.info("Fuzzy search all tickets, query: '{}', limit: {}", query, limit);
+        log.debug("Fuzzy search all tickets, query: '{}', limit: {}", query, limit);
+        long start = System.nanoTime();
+        SearchExecutedEvent jfr = SearchExecutedEvent.start();
         try {
-            BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-            boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.minimumShouldMatch("1");
-
-            // If query looks like a valid ticket ID, also search by ID
-            if (isValidIdPattern(query)) {
-                boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
-            }
-
             SearchRequest searchRequest = SearchRequest.of(s -> s
                     .index("tickets")
-                    .query(boolBuilder.build()._toQuery())
+                    .query(fuzzyQuery(null, query))
                     .size(limit)
                     .sort(so -> so.field(f -> f.field("priority").order(SortOrder.Desc))) // HIGH first (HIGH has highest ordinal)
                     .sort(so -> so.field(f -> f.field("createdAt").order(SortOrder.Desc))) // Then newest first
@@ -164,7 +219,9 @@ public class TicketElasticsearchService {
                     .map(this::mapToSummary)
                     .collect(Collectors.toList());
 
-            log.info("Fuzzy search all returned {} results", results.size());
+            log.debug("Fuzzy search all returned {} results", results.size());
+            slowOperationLog.search("autocomplete", "all", query, 0, limit, results.size(), start);
+            jfr.finish("autocomplete", "all", null, query, 0, limit, results.size(), response.took());
             return results;
         } catch (IOException e) {
             log.error("Error performing fuzzy search all tickets, query: '{}'", query, e);
@@ -172,23 +229,15 @@ public class TicketElasticsearchService {
         }
     }
 
+    @Timed(value = "tickets.search", extraTags = {"operation", "search", "scope", "agent"})
     public List<TicketSummaryResponse> fuzzySearchForAgentPaged(String agentId, String query, int page, int size) {
-        log.info("Paged fuzzy search for agent: {}, query: '{}', page: {}, size: {}", agentId, query, page, size);
+        log.debug("Paged fuzzy search for agent: {}, query: '{}', page: {}, size: {}", agentId, query, page, size);
+        long start = System.nanoTime();
+        SearchExecutedEvent jfr = SearchExecutedEvent.start();
         try {
-            BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-            boolBuilder.must(TermQuery.of(t -> t.field("assignedAgentId").value(agentId))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.minimumShouldMatch("1");
-
-            // If query looks like a valid ticket ID, also search by ID
-            if (isValidIdPattern(query)) {
-                boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
-            }
-
             SearchRequest searchRequest = SearchRequest.of(s -> s
                     .index("tickets")
-                    .query(boolBuilder.build()._toQuery())
+                    .query(fuzzyQuery(agentId, query))
                     .from(page * size)
                     .size(size)
                     .sort(so -> so.field(f -> f.field("priority").order(SortOrder.Desc))) // HIGH first (HIGH has highest ordinal)
@@ -201,7 +250,9 @@ public class TicketElasticsearchService {
                     .map(this::mapToSummary)
                     .collect(Collectors.toList());
 
-            log.info("Paged fuzzy search for agent returned {} results", results.size());
+            log.debug("Paged fuzzy search for agent returned {} results", results.size());
+            slowOperationLog.search("search", "agent", query, page * size, size, results.size(), start);
+            jfr.finish("search", "agent", agentId, query, page * size, size, results.size(), response.took());
             return results;
         } catch (IOException e) {
             log.error("Error performing paged fuzzy search for agent: {}, query: '{}', page: {}", agentId, query, page, e);
@@ -209,22 +260,15 @@ public class TicketElasticsearchService {
         }
     }
 
+    @Timed(value = "tickets.search", extraTags = {"operation", "search", "scope", "all"})
     public List<TicketSummaryResponse> fuzzySearchAllPaged(String query, int page, int size) {
-        log.info("Paged fuzzy search all tickets, query: '{}', page: {}, size: {}", query, page, size);
+        log.debug("Paged fuzzy search all tickets, query: '{}', page: {}, size: {}", query, page, size);
+        long start = System.nanoTime();
+        SearchExecutedEvent jfr = SearchExecutedEvent.start();
         try {
-            BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-            boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.minimumShouldMatch("1");
-
-            // If query looks like a valid ticket ID, also search by ID
-            if (isValidIdPattern(query)) {
-                boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
-            }
-
             SearchRequest searchRequest = SearchRequest.of(s -> s
                     .index("tickets")
-                    .query(boolBuilder.build()._toQuery())
+                    .query(fuzzyQuery(null, query))
                     .from(page * size)
                     .size(size)
                     .sort(so -> so.field(f -> f.field("priority").order(SortOrder.Desc))) // HIGH first (HIGH has highest ordinal)
@@ -237,7 +281,9 @@ public class TicketElasticsearchService {
                     .map(this::mapToSummary)
                     .collect(Collectors.toList());
 
-            log.info("Paged fuzzy search all returned {} results", results.size());
+            log.debug("Paged fuzzy search all returned {} results", results.size());
+            slowOperationLog.search("search", "all", query, page * size, size, results.size(), start);
+            jfr.finish("search", "all", null, query, page * size, size, results.size(), response.took());
             return results;
         } catch (IOException e) {
             log.error("Error performing paged fuzzy search all tickets, query: '{}', page: {}", query, page, e);
@@ -245,28 +291,22 @@ public class TicketElasticsearchService {
         }
     }
 
+    @Timed(value = "tickets.search", extraTags = {"operation", "count", "scope", "agent"})
     public long countFuzzySearchForAgent(String agentId, String query) {
-        log.info("Counting fuzzy search for agent: {}, query: '{}'", agentId, query);
+        log.debug("Counting fuzzy search for agent: {}, query: '{}'", agentId, query);
+        long start = System.nanoTime();
+        SearchExecutedEvent jfr = SearchExecutedEvent.start();
         try {
-            BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-            boolBuilder.must(TermQuery.of(t -> t.field("assignedAgentId").value(agentId))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.minimumShouldMatch("1");
-
-            // If query looks like a valid ticket ID, also search by ID
-            if (isValidIdPattern(query)) {
-                boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
-            }
-
             co.elastic.clients.elasticsearch.core.CountRequest countRequest = co.elastic.clients.elasticsearch.core.CountRequest.of(c -> c
                     .index("tickets")
-                    .query(boolBuilder.build()._toQuery())
+                    .query(fuzzyQuery(agentId, query))
             );
 
             co.elastic.clients.elasticsearch.core.CountResponse countResponse = elasticsearchClient.count(countRequest);
             long count = countResponse.count();
-            log.info("Count fuzzy search for agent returned {}", count);
+            log.debug("Count fuzzy search for agent returned {}", count);
+            slowOperationLog.search("count", "agent", query, 0, 0, count, start);
+            jfr.finish("count", "agent", agentId, query, 0, 0, count, -1);
             return count;
         } catch (IOException e) {
             log.error("Error counting fuzzy search for agent: {}, query: '{}'", agentId, query, e);
@@ -274,27 +314,22 @@ public class TicketElasticsearchService {
         }
     }
 
+    @Timed(value = "tickets.search", extraTags = {"operation", "count", "scope", "all"})
     public long countFuzzySearchAll(String query) {
-        log.info("Counting fuzzy search all tickets, query: '{}'", query);
+        log.debug("Counting fuzzy search all tickets, query: '{}'", query);
+        long start = System.nanoTime();
+        SearchExecutedEvent jfr = SearchExecutedEvent.start();
         try {
-            BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-            boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
-            boolBuilder.minimumShouldMatch("1");
-
-            // If query looks like a valid ticket ID, also search by ID
-            if (isValidIdPattern(query)) {
-                boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
-            }
-
             co.elastic.clients.elasticsearch.core.CountRequest countRequest = co.elastic.clients.elasticsearch.core.CountRequest.of(c -> c
                     .index("tickets")
-                    .query(boolBuilder.build()._toQuery())
+                    .query(fuzzyQuery(null, query))
             );
 
             co.elastic.clients.elasticsearch.core.CountResponse countResponse = elasticsearchClient.count(countRequest);
             long count = countResponse.count();
-            log.info("Count fuzzy search all returned {}", count);
+            log.debug("Count fuzzy search all returned {}", count);
+            slowOperationLog.search("count", "all", query, 0, 0, count, start);
+            jfr.finish("count", "all", null, query, 0, 0, count, -1);
             return count;
         } catch (IOException e) {
             log.error("Error counting fuzzy search all tickets, query: '{}'", query, e);
@@ -302,11 +337,30 @@ public class TicketElasticsearchService {
         }
     }
 
-    private boolean isValidIdPattern(String query) {
+    /**
+     * Fuzzy title / description match, plus an ID match when the query looks like one.
+     * Restricted to one agent's tickets unless agentId is null. Shared by the searches and counts
+     * here and by ReactiveTicketQueryService, so both APIs match the same tickets.
+     */
+    static Query fuzzyQuery(String agentId, String query) {
+        BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
+        if (agentId != null) {
+            boolBuilder.must(TermQuery.of(t -> t.field("assignedAgentId").value(agentId))._toQuery());
+        }
+        boolBuilder.should(MatchQuery.of(m -> m.field("title").query(query).fuzziness("AUTO"))._toQuery());
+        boolBuilder.should(MatchQuery.of(m -> m.field("description").query(query).fuzziness("AUTO"))._toQuery());
+        boolBuilder.minimumShouldMatch("1");
+        if (isValidIdPattern(query)) {
+            boolBuilder.should(TermQuery.of(t -> t.field("id").value(query))._toQuery());
+        }
+        return boolBuilder.build()._toQuery();
+    }
+
+    private static boolean isValidIdPattern(String query) {
         return query.length() >= 3 && query.matches("^[a-fA-F0-9]+$");
     }
 
-    private TicketSummaryResponse mapToSummary(TicketDocument doc) {
+    TicketSummaryResponse mapToSummary(TicketDocument doc) {
         return TicketSummaryResponse.builder()
                 .id(doc.getId())
                 .title(doc.getTitle())
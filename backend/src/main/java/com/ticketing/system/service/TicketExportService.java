@@ -0,0 +1,111 @@
+package com.ticketing.system.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ticketing.system.dto.TicketExportRow;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes ticket exports as CSV or NDJSON.
+ *
+ * Filters are pushed down into the MongoDB query and tickets are read from a cursor in
+ * bounded batches and written out one at a time, so memory use does not depend on how
+ * many tickets are exported.
+ */
+@Service
+@Slf4j
+public class TicketExportService {
+
+    private final TicketRepository ticketRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public TicketExportService(TicketRepository ticketRepository, ObjectMapper objectMapper) {
+        this.ticketRepository = ticketRepository;
+        // Flushing is left to the output buffers rather than done after every ticket
+        this.ndjsonWriter = objectMapper.writerFor(TicketExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .build();
+        // Activities are nested lists, which have no CSV column
+        CsvSchema.Builder columns = CsvSchema.builder();
+        for (CsvSchema.Column column : csvMapper.schemaFor(TicketExportRow.class)) {
+            if (!column.getName().equals("activities")) {
+                columns.addColumn(column.getName(), column.getType());
+            }
+        }
+        this.csvWriter = csvMapper.writerFor(TicketExportRow.class).with(columns.build().withHeader());
+    }
+
+    /**
+     * Write every ticket matching the filters to the output, in _id order. Activities
+     * are only written to NDJSON.
+     *
+     * @return number of tickets written
+     */
+    public long writeExport(OutputStream output, boolean csv, List<TicketStatus> statuses, String agentId,
+                            LocalDateTime createdFrom, LocalDateTime createdTo, boolean includeActivities)
+            throws IOException {
+        boolean withActivities = includeActivities && !csv;
+        long written = 0;
+        try (Stream<Ticket> tickets = ticketRepository.streamForExport(statuses, agentId, createdFrom, createdTo,
+                withActivities);
+             SequenceWriter writer = (csv ? csvWriter : ndjsonWriter).writeValues(output)) {
+            for (Iterator<Ticket> it = tickets.iterator(); it.hasNext(); ) {
+                writer.write(toRow(it.next(), withActivities));
+                written++;
+            }
+        }
+        if (!csv && written > 0) {
+            output.write('\n');
+        }
+        log.info("Exported {} tickets as {}", written, csv ? "CSV" : "NDJSON");
+        return written;
+    }
+
+    private static TicketExportRow toRow(Ticket ticket, boolean includeActivities) {
+        return TicketExportRow.builder()
+                .id(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .assignedAgentId(ticket.getAssignedAgentId())
+                .assignedAgentName(ticket.getAssignedAgentName())
+                .customerName(ticket.getCustomerName())
+                .customerEmail(ticket.getCustomerEmail())
+                .customerTier(ticket.getCustomerTier())
+                .autoAssigned(ticket.isAutoAssigned())
+                .createdAt(ticket.getCreatedAt())
+                .updatedAt(ticket.getUpdatedAt())
+                .firstRespondedAt(ticket.getFirstRespondedAt())
+                .closedAt(ticket.getClosedAt())
+                .slaDeadline(ticket.getSlaDeadline())
+                .activities(includeActivities ? ticket.getActivities() : null)
+                .build();
+    }
+}
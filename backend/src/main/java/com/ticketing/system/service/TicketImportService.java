@@ -0,0 +1,313 @@
+package com.ticketing.system.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.MongoBulkWriteException;
+import com.ticketing.system.dto.TicketImportMessage;
+import com.ticketing.system.dto.TicketImportRecord;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.model.Activity;
+import com.ticketing.system.model.Role;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.model.TicketStatus;
+import com.ticketing.system.model.User;
+import com.ticketing.system.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Loads tickets from an NDJSON or CSV upload.
+ *
+ * The body is read with a Jackson MappingIterator one record at a time and tickets are
+ * written in batches (an ordered insertMany, then one Elasticsearch _bulk request), so
+ * memory use depends on the batch size, not the file. The response is NDJSON written
+ * while the import runs: an error line for every rejected record and a progress line
+ * after every batch.
+ *
+ * Imported tickets do not produce live update events; clients see them on their next
+ * reload.
+ */
+@Service
+@Slf4j
+public class TicketImportService {
+
+    private final TicketRepository ticketRepository;
+    private final TicketElasticsearchService ticketElasticsearchService;
+    private final SlaEscalationService slaEscalationService;
+    private final UserDirectoryService userDirectoryService;
+    private final TicketChangeTracker changeTracker;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final ThreadPoolExecutor importers;
+
+    @Value("${ticket-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ticket-import.timeout-ms:3600000}")
+    private long timeoutMillis;
+
+    public TicketImportService(TicketRepository ticketRepository,
+                               TicketElasticsearchService ticketElasticsearchService,
+                               SlaEscalationService slaEscalationService,
+                               UserDirectoryService userDirectoryService,
+                               TicketChangeTracker changeTracker,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               @Value("${ticket-import.max-concurrent:2}") int maxConcurrent) {
+        this.ticketRepository = ticketRepository;
+        this.ticketElasticsearchService = ticketElasticsearchService;
+        this.slaEscalationService = slaEscalationService;
+        this.userDirectoryService = userDirectoryService;
+        this.changeTracker = changeTracker;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.ndjsonReader = objectMapper.readerFor(TicketImportRecord.class);
+        this.csvReader = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(TicketImportRecord.class)
+                .with(CsvSchema.emptySchema().withHeader());
+
+        // No queue: an import beyond maxConcurrent is refused rather than left waiting
+        AtomicInteger threadCount = new AtomicInteger();
+        this.importers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ticket-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Start importing the body on an import thread and return the emitter its
+     * progress is written to.
+     */
+    public ResponseBodyEmitter importTickets(InputStream body, boolean csv, String managerId) {
+        User manager = userDirectoryService.findById(managerId)
+                .orElseThrow(() -> new ApiException("Manager not found", HttpStatus.NOT_FOUND));
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        try {
+            importers.execute(() -> runImport(body, csv, manager, emitter));
+        } catch (RejectedExecutionException e) {
+            throw new ApiException("Too many imports running; try again later", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importers.shutdownNow();
+    }
+
+    private void runImport(InputStream body, boolean csv, User manager, ResponseBodyEmitter emitter) {
+        ImportRun run = new ImportRun(emitter);
+        try (MappingIterator<TicketImportRecord> records = (csv ? csvReader : ndjsonReader).readValues(body)) {
+            List<Ticket> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+            while (records.hasNextValue()) {
+                long line = records.getCurrentLocation().getLineNr();
+                run.recordsRead++;
+                try {
+                    batch.add(toTicket(records.nextValue(), manager));
+                    batchLines.add(line);
+                } catch (JsonParseException e) {
+                    // Malformed input: the parser cannot find where the next record starts
+                    run.failed++;
+                    run.send(error(line, "Malformed input, import stopped: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException | ApiException e) {
+                    // The iterator skips the rest of a record it could not map
+                    run.failed++;
+                    run.send(error(line, e.getMessage()));
+                }
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, batchLines, run);
+                }
+            }
+            writeBatch(batch, batchLines, run);
+            run.send(progress("done", run));
+            emitter.complete();
+            log.info("Import by {}: {} tickets imported, {} lines failed", manager.getEmail(), run.imported, run.failed);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import by {} failed after {} records", manager.getEmail(), run.recordsRead, e);
+            try {
+                run.send(TicketImportMessage.builder()
+                        .type("failed")
+                        .message(e.getMessage())
+                        .recordsRead(run.recordsRead)
+                        .imported(run.imported)
+                        .failed(run.failed)
+                        .build());
+                emitter.complete();
+            } catch (IOException | RuntimeException sendFailure) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void writeBatch(List<Ticket> batch, List<Long> batchLines, ImportRun run) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Ticket> saved = batch;
+        try {
+            ticketRepository.insert(batch);
+        } catch (RuntimeException e) {
+            // An ordered insert stops at the first failure; the tickets before it are saved
+            MongoBulkWriteException bulkFailure = bulkWriteFailure(e);
+            int inserted = bulkFailure != null ? bulkFailure.getWriteResult().getInsertedCount() : 0;
+            log.warn("Import batch of {} tickets failed after {} were written", batch.size(), inserted, e);
+            run.failed += batch.size() - inserted;
+            long failedLine = batchLines.get(inserted);
+            run.send(error(failedLine, bulkFailure != null && !bulkFailure.getWriteErrors().isEmpty()
+                    ? bulkFailure.getWriteErrors().get(0).getMessage() : e.getMessage()));
+            if (inserted + 1 < batch.size()) {
+                run.send(error(batchLines.get(inserted + 1), (batch.size() - inserted - 1) + " tickets up to line "
+                        + batchLines.get(batchLines.size() - 1) + " not written: the batch stopped at line " + failedLine));
+            }
+            saved = batch.subList(0, inserted);
+        }
+        run.imported += saved.size();
+
+        if (!saved.isEmpty()) {
+            try {
+                ticketElasticsearchService.indexTickets(saved);
+            } catch (RuntimeException e) {
+                log.error("Indexing import batch of {} tickets failed; a reindex restores search", saved.size(), e);
+            }
+            saved.forEach(slaEscalationService::scheduleSlaDeadline);
+            changeTracker.invalidateAll();
+            run.send(progress("progress", run));
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    // The driver's report of a failed insertMany, under Spring's translated exception
+    private static MongoBulkWriteException bulkWriteFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException) {
+                return (MongoBulkWriteException) cause;
+            }
+        }
+        return null;
+    }
+
+    private Ticket toTicket(TicketImportRecord record, User manager) {
+        Set<ConstraintViolation<TicketImportRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            throw new ApiException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")), HttpStatus.BAD_REQUEST);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        TicketStatus status = Optional.ofNullable(record.getStatus()).orElse(TicketStatus.NOT_STARTED);
+        boolean closed = status == TicketStatus.RESOLVED || status == TicketStatus.INVALID;
+        LocalDateTime createdAt = Optional.ofNullable(record.getCreatedAt()).orElse(now);
+        LocalDateTime closedAt = closed ? Optional.ofNullable(record.getClosedAt()).orElse(createdAt) : null;
+
+        Ticket ticket = Ticket.builder()
+                // Assigned here rather than by MongoDB, so the SLA partition can be derived from it
+                .id(new ObjectId().toHexString())
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .status(status)
+                .priority(record.getPriority())
+                .customerEmail(record.getCustomerEmail())
+                .customerName(record.getCustomerName())
+                .comments(new ArrayList<>())
+                .activities(new ArrayList<>())
+                .createdAt(createdAt)
+                .updatedAt(closedAt != null ? closedAt : createdAt)
+                .closedAt(closedAt)
+                .firstRespondedAt(status != TicketStatus.NOT_STARTED ? createdAt : null)
+                .autoAssigned(false)
+                .build();
+
+        if (record.getAssignedAgentEmail() != null && !record.getAssignedAgentEmail().isBlank()) {
+            User agent = userDirectoryService.findByEmail(record.getAssignedAgentEmail().trim())
+                    .filter(user -> user.getRole() == Role.AGENT)
+                    .orElseThrow(() -> new ApiException("No agent with email " + record.getAssignedAgentEmail(), HttpStatus.BAD_REQUEST));
+            ticket.setAssignedAgentId(agent.getId());
+            ticket.setAssignedAgentName(agent.getName());
+        }
+
+        ticket.getActivities().add(Activity.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(manager.getId())
+                .userName(manager.getName())
+                .action("TICKET_IMPORTED")
+                .details("Ticket imported for customer: " + record.getCustomerName())
+                .timestamp(now)
+                .build());
+        slaEscalationService.applySlaDeadline(ticket);
+        return ticket;
+    }
+
+    private static TicketImportMessage error(long line, String message) {
+        return TicketImportMessage.builder().type("error").line(line).message(message).build();
+    }
+
+    private static TicketImportMessage progress(String type, ImportRun run) {
+        return TicketImportMessage.builder()
+                .type(type)
+                .recordsRead(run.recordsRead)
+                .imported(run.imported)
+                .failed(run.failed)
+                .build();
+    }
+
+    // Counters of one import and the response they are reported to
+    private final class ImportRun {
+        private final ResponseBodyEmitter emitter;
+        private long recordsRead;
+        private long imported;
+        private long failed;
+
+        ImportRun(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(TicketImportMessage message) throws IOException {
+            byte[] line = (objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8);
+            emitter.send(line, MediaType.APPLICATION_NDJSON);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.CreateTicketRequest;
+import com.ticketing.system.dto.TicketResponse;
+import com.ticketing.system.event.TicketChangeEvent;
+import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.model.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Batched intake for the public ticket creation endpoint (ingestion.mode=batched).
+ *
+ * A request only validates and queues its ticket, with its ObjectId generated up
+ * front, and is answered with 202. A single batcher thread flushes the queue every
+ * flush-interval-ms or batch-size tickets, whichever comes first: one unordered
+ * MongoDB insert, then one Elasticsearch _bulk request. When the queue is full new
+ * tickets are refused with 429, so a burst cannot outgrow memory.
+ *
+ * Durability is set by ingestion.durability:
+ * - QUEUED: answered as soon as the ticket is queued. Queued tickets are written on a
+ *   graceful shutdown but lost if the process dies.
+ * - PERSISTED: answered once the ticket's batch is in MongoDB, or with 503 if it could
+ *   not be written.
+ * Either way the search index may trail MongoDB by one batch.
+ */
+@Service
+@Slf4j
+public class TicketIngestionService {
+
+    public enum Durability {
+        QUEUED, PERSISTED
+    }
+
+    private final TicketService ticketService;
+    private final TicketRepository ticketRepository;
+    private final TicketElasticsearchService ticketElasticsearchService;
+    private final SlaEscalationService slaEscalationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean batched;
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long persistTimeoutMillis;
+    private final BlockingQueue<PendingTicket> queue;
+
+    private volatile boolean running;
+    private Thread batcher;
+
+    public TicketIngestionService(TicketService ticketService,
+                                  TicketRepository ticketRepository,
+                                  TicketElasticsearchService ticketElasticsearchService,
+                                  SlaEscalationService slaEscalationService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${ingestion.mode:direct}") String mode,
+                                  @Value("${ingestion.durability:QUEUED}") Durability durability,
+                                  @Value("${ingestion.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${ingestion.batch-size:500}") int batchSize,
+                                  @Value("${ingestion.flush-interval-ms:50}") long flushIntervalMillis,
+                                  @Value("${ingestion.max-attempts:5}") int maxAttempts,
+                                  @Value("${ingestion.retry-backoff-ms:200}") long retryBackoffMillis,
+                                  @Value("${ingestion.persist-timeout-ms:30000}") long persistTimeoutMillis) {
+        this.ticketService = ticketService;
+        this.ticketRepository = ticketRepository;
+        this.ticketElasticsearchService = ticketElasticsearchService;
+        this.slaEscalationService = slaEscalationService;
+        this.eventPublisher = eventPublisher;
+        this.batched = "batched".equals(mode.toLowerCase(Locale.ROOT));
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.persistTimeoutMillis = persistTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!batched) {
+            return;
+        }
+        running = true;
+        batcher = new Thread(this::runBatcher, "ticket-ingestion");
+        batcher.setDaemon(true);
+        batcher.start();
+        log.info("Batched ticket ingestion started: batch size {}, flush interval {} ms, durability {}",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), durability);
+    }
+
+    public boolean isBatched() {
+        return batched;
+    }
+
+    /**
+     * Queue a new ticket for the next batch and return it as it will be saved.
+     */
+    public TicketResponse submit(CreateTicketRequest request) {
+        Ticket ticket = ticketService.newTicket(request);
+
+        PendingTicket pending = new PendingTicket(ticket);
+        if (!running || !queue.offer(pending)) {
+            throw new ApiException("Too many tickets are being submitted; please retry shortly", HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        if (durability == Durability.PERSISTED) {
+            try {
+                pending.persisted.get(persistTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new ApiException("Ticket could not be saved; please retry", HttpStatus.SERVICE_UNAVAILABLE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiException("Ticket could not be saved; please retry", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        }
+        return ticketService.mapToTicketResponse(ticket);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (batcher == null) {
+            return;
+        }
+        // New submissions are refused; the batcher exits once the queue is written
+        running = false;
+        batcher.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.error("Shut down with {} submitted tickets not written", queue.size());
+        }
+    }
+
+    private void runBatcher() {
+        List<PendingTicket> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Every further poll would throw at once, so refuse new submissions, write
+                // what is already queued without waiting for more, and exit
+                running = false;
+                do {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    flushIfAny(batch);
+                } while (!queue.isEmpty());
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flushIfAny(batch);
+        }
+    }
+
+    private void flushIfAny(List<PendingTicket> batch) {
+        if (!batch.isEmpty()) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    // Waits for a first ticket, then takes more until the batch is full or the flush interval has passed
+    private void collectBatch(List<PendingTicket> batch) throws InterruptedException {
+        PendingTicket first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingTicket next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingTicket> batch) {
+        List<Ticket> tickets = batch.stream().map(pending -> pending.ticket).collect(Collectors.toList());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ticketRepository.insertTickets(tickets);
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Dropping {} submitted tickets after {} failed writes: {}", tickets.size(), attempt,
+                            tickets.stream().map(Ticket::getId).collect(Collectors.toList()), e);
+                    batch.forEach(pending -> pending.persisted.completeExceptionally(e));
+                    return;
+                }
+                // The queue keeps filling meanwhile; once full, submissions get 429s
+                log.warn("Writing {} submitted tickets failed (attempt {} of {}), retrying", tickets.size(), attempt, maxAttempts, e);
+                sleep(retryBackoffMillis * attempt);
+            }
+        }
+        batch.forEach(pending -> pending.persisted.complete(null));
+
+        try {
+            ticketElasticsearchService.indexTickets(tickets);
+        } catch (RuntimeException e) {
+            // MongoDB has them; a reindex restores search
+            log.error("Indexing {} submitted tickets failed", tickets.size(), e);
+        }
+        for (Ticket ticket : tickets) {
+            slaEscalationService.scheduleSlaDeadline(ticket);
+            eventPublisher.publishEvent(TicketChangeEvent.created(ticket));
+        }
+        log.debug("Wrote batch of {} submitted tickets", tickets.size());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingTicket {
+        private final Ticket ticket;
+        private final CompletableFuture<Void> persisted = new CompletableFuture<>();
+
+        PendingTicket(Ticket ticket) {
+            this.ticket = ticket;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ticketing.system.service;
 
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.ticketing.system.dto.AddCommentRequest;
 import com.ticketing.system.dto.AssignTicketRequest;
 import com.ticketing.system.dto.CreateTicketRequest;
@@ -8,7 +9,9 @@ import com.ticketing.system.dto.TicketSearchResponse;
 import com.ticketing.system.dto.TicketSummaryResponse;
 import com.ticketing.system.dto.UpdatePriorityRequest;
 import com.ticketing.system.dto.UpdateStatusRequest;
+import com.ticketing.system.event.TicketChangeEvent;
 import com.ticketing.system.exception.ApiException;
+import com.ticketing.system.jfr.TicketMutationEvent;
 import com.ticketing.system.model.Activity;
 import com.ticketing.system.model.Comment;
 import com.ticketing.system.model.Priority;
@@ -17,33 +20,58 @@ import com.ticketing.system.model.Ticket;
 import com.ticketing.system.model.TicketStatus;
 import com.ticketing.system.model.User;
 import com.ticketing.system.repository.TicketRepository;
-import com.ticketing.system.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TicketService {
 
     private final TicketRepository ticketRepository;
-    private final UserRepository userRepository;
+    private final UserDirectoryService userDirectoryService;
     private final TicketElasticsearchService ticketElasticsearchService;
+    private final SlaEscalationService slaEscalationService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Timed(value = "tickets.mutation", extraTags = {"operation", "create"})
     public TicketResponse createTicket(CreateTicketRequest request) {
         return createTicket(request, false);
     }
 
+    @Timed(value = "tickets.mutation", extraTags = {"operation", "create"})
     public TicketResponse createTicket(CreateTicketRequest request, boolean autoAssign) {
+        TicketMutationEvent jfr = TicketMutationEvent.start("create", null);
+        Ticket ticket = newTicket(request);
+
+        Ticket savedTicket = ticketRepository.save(ticket);
+        ticketElasticsearchService.indexTicket(savedTicket);
+        slaEscalationService.scheduleSlaDeadline(savedTicket);
+        eventPublisher.publishEvent(TicketChangeEvent.created(savedTicket));
+        jfr.finish(savedTicket);
+        return mapToTicketResponse(savedTicket);
+    }
+
+    /**
+     * A new, unsaved ticket for a customer request, with its ID, creation activity and SLA deadline.
+     */
+    public Ticket newTicket(CreateTicketRequest request) {
         Ticket ticket = Ticket.builder()
+                // Assigned here rather than by MongoDB, so the SLA partition can be derived from it
+                .id(new ObjectId().toHexString())
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .status(TicketStatus.NOT_STARTED)
@@ -65,30 +93,31 @@ public class TicketService {
                 .timestamp(LocalDateTime.now())
                 .build();
         ticket.getActivities().add(activity);
-
-        Ticket savedTicket = ticketRepository.save(ticket);
-        ticketElasticsearchService.indexTicket(savedTicket);
-        return mapToTicketResponse(savedTicket);
+        slaEscalationService.applySlaDeadline(ticket);
+        return ticket;
     }
 
+    @Timed(value = "tickets.mutation", extraTags = {"operation", "assign"})
     public TicketResponse assignTicket(String ticketId, AssignTicketRequest request, String managerId) {
+        TicketMutationEvent jfr = TicketMutationEvent.start("assign", managerId);
         Ticket ticket = getTicketById(ticketId);
 
         if (ticket.getPriority() == null) {
             throw new ApiException("Cannot assign ticket without priority. Please set priority first.", HttpStatus.BAD_REQUEST);
         }
 
-        User agent = userRepository.findById(request.getAgentId())
+        User agent = userDirectoryService.findById(request.getAgentId())
                 .orElseThrow(() -> new ApiException("Agent not found", HttpStatus.NOT_FOUND));
 
         if (agent.getRole() != Role.AGENT) {
             throw new ApiException("Can only assign tickets to agents", HttpStatus.BAD_REQUEST);
         }
 
-        User manager = userRepository.findById(managerId)
+        User manager = userDirectoryService.findById(managerId)
                 .orElseThrow(() -> new ApiException("Manager not found", HttpStatus.NOT_FOUND));
 
         String previousAgent = ticket.getAssignedAgentName();
+        String previousAgentId = ticket.getAssignedAgentId();
         ticket.setAssignedAgentId(agent.getId());
         ticket.setAssignedAgentName(agent.getName());
         ticket.setUpdatedAt(LocalDateTime.now());
@@ -109,12 +138,17 @@ public class TicketService {
 
         Ticket savedTicket = ticketRepository.save(ticket);
         ticketElasticsearchService.indexTicket(savedTicket);
+        eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.ASSIGNED, savedTicket,
+                previousAgentId, savedTicket.getStatus(), savedTicket.getPriority()));
+        jfr.finish(savedTicket);
         return mapToTicketResponse(savedTicket);
     }
 
+    @Timed(value = "tickets.mutation", extraTags = {"operation", "priority"})
     public TicketResponse updatePriority(String ticketId, UpdatePriorityRequest request, String managerId) {
+        TicketMutationEvent jfr = TicketMutationEvent.start("priority", managerId);
         Ticket ticket = getTicketById(ticketId);
-        User manager = userRepository.findById(managerId)
+        User manager = userDirectoryService.findById(managerId)
                 .orElseThrow(() -> new ApiException("Manager not found", HttpStatus.NOT_FOUND));
 
         if (manager.getRole() != Role.MANAGER) {
@@ -134,13 +168,20 @@ public class TicketService {
                 .timestamp(LocalDateTime.now())
                 .build();
         ticket.getActivities().add(activityLog);
+        slaEscalationService.applySlaDeadline(ticket);
 
         Ticket savedTicket = ticketRepository.save(ticket);
         ticketElasticsearchService.indexTicket(savedTicket);
+        slaEscalationService.scheduleSlaDeadline(savedTicket);
+        eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.PRIORITY_CHANGED, savedTicket,
+                savedTicket.getAssignedAgentId(), savedTicket.getStatus(), oldPriority));
+        jfr.finish(savedTicket);
         return mapToTicketResponse(savedTicket);
     }
 
+    @Timed(value = "tickets.mutation", extraTags = {"operation", "status"})
     public TicketResponse updateStatus(String ticketId, UpdateStatusRequest request, String agentId) {
+        TicketMutationEvent jfr = TicketMutationEvent.start("status", agentId);
         Ticket ticket = getTicketById(ticketId);
 
         if (!agentId.equals(ticket.getAssignedAgentId())) {
@@ -149,7 +190,7 @@ public class TicketService {
 
         validateStatusTransition(ticket.getStatus(), request.getStatus());
 
-        User agent = userRepository.findById(agentId)
+        User agent = userDirectoryService.findById(agentId)
                 .orElseThrow(() -> new ApiException("Agent not found", HttpStatus.NOT_FOUND));
 
         TicketStatus previousStatus = ticket.getStatus();
@@ -159,6 +200,9 @@ public class TicketService {
         if (request.getStatus() == TicketStatus.RESOLVED || request.getStatus() == TicketStatus.INVALID) {
             ticket.setClosedAt(LocalDateTime.now());
         }
+        if (ticket.getFirstRespondedAt() == null) {
+            ticket.setFirstRespondedAt(LocalDateTime.now());
+        }
 
         Activity activityLog = Activity.builder()
                 .id(UUID.randomUUID().toString())
@@ -169,13 +213,18 @@ public class TicketService {
                 .timestamp(LocalDateTime.now())
                 .build();
         ticket.getActivities().add(activityLog);
+        slaEscalationService.applySlaDeadline(ticket);
 
         Ticket savedTicket = ticketRepository.save(ticket);
         ticketElasticsearchService.indexTicket(savedTicket);
+        slaEscalationService.scheduleSlaDeadline(savedTicket);
+        eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.STATUS_CHANGED, savedTicket,
+                savedTicket.getAssignedAgentId(), previousStatus, savedTicket.getPriority()));
+        jfr.finish(savedTicket);
         return mapToTicketResponse(savedTicket);
     }
 
-    private void validateStatusTransition(TicketStatus currentStatus, TicketStatus newStatus) {
+    static void validateStatusTransition(TicketStatus currentStatus, TicketStatus newStatus) {
         if (currentStatus == newStatus) {
             throw new ApiException("Ticket is already in " + currentStatus + " status", HttpStatus.BAD_REQUEST);
         }
@@ -194,14 +243,16 @@ public class TicketService {
         }
     }
 
+    @Timed(value = "tickets.mutation", extraTags = {"operation", "comment"})
     public TicketResponse addComment(String ticketId, AddCommentRequest request, String userId) {
+        TicketMutationEvent jfr = TicketMutationEvent.start("comment", userId);
         Ticket ticket = getTicketById(ticketId);
 
         if (!userId.equals(ticket.getAssignedAgentId())) {
             throw new ApiException("You are not authorized to comment on this ticket", HttpStatus.FORBIDDEN);
         }
 
-        User user = userRepository.findById(userId)
+        User user = userDirectoryService.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
 
         Comment comment = Comment.builder()
@@ -227,15 +278,28 @@ public class TicketService {
                 .build();
         ticket.getActivities().add(activityLog);
 
+        // The first comment counts as the first response and may lift the first-response deadline
+        boolean firstResponse = ticket.getFirstRespondedAt() == null;
+        if (firstResponse) {
+            ticket.setFirstRespondedAt(LocalDateTime.now());
+            slaEscalationService.applySlaDeadline(ticket);
+        }
+
         Ticket savedTicket = ticketRepository.save(ticket);
         ticketElasticsearchService.indexTicket(savedTicket);
+        if (firstResponse) {
+            slaEscalationService.scheduleSlaDeadline(savedTicket);
+        }
+        eventPublisher.publishEvent(new TicketChangeEvent(TicketChangeEvent.ChangeType.COMMENTED, savedTicket,
+                savedTicket.getAssignedAgentId(), savedTicket.getStatus(), savedTicket.getPriority()));
+        jfr.finish(savedTicket);
         return mapToTicketResponse(savedTicket);
     }
 
     public TicketResponse getTicketDetails(String ticketId, String userId) {
         Ticket ticket = getTicketById(ticketId);
 
-        User user = userRepository.findById(userId)
+        User user = userDirectoryService.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
 
         if (user.getRole() == Role.AGENT && !userId.equals(ticket.getAssignedAgentId())) {
@@ -247,28 +311,31 @@ public class TicketService {
 
     // ==================== Summary Methods for List Views ====================
 
-    public List<TicketSummaryResponse> getAllTicketSummaries() {
-        return ticketRepository.findAll().stream()
-                .map(this::mapToTicketSummary)
-                .collect(Collectors.toList());
+    // Summaries are written to the response one at a time as the cursor is read, so memory use does not grow with the number of tickets
+
+    public void writeAllTicketSummaries(SequenceWriter writer) throws IOException {
+        writeTicketSummaries(ticketRepository.streamSummaries(), writer);
     }
 
-    public List<TicketSummaryResponse> getUnassignedTicketSummaries() {
-        return ticketRepository.findByAssignedAgentIdIsNull().stream()
-                .map(this::mapToTicketSummary)
-                .collect(Collectors.toList());
+    public void writeUnassignedTicketSummaries(SequenceWriter writer) throws IOException {
+        writeTicketSummaries(ticketRepository.streamUnassignedSummaries(), writer);
     }
 
-    public List<TicketSummaryResponse> getTicketSummariesForAgent(String agentId) {
-        return ticketRepository.findByAssignedAgentId(agentId).stream()
-                .sorted((a, b) -> {
-                    if (a.getPriority() == null && b.getPriority() == null) return 0;
-                    if (a.getPriority() == null) return 1; // null priorities go last
-                    if (b.getPriority() == null) return -1;
-                    return b.getPriority().ordinal() - a.getPriority().ordinal(); // Reverse for HIGH first (HIGH=2, MEDIUM=1, LOW=0)
-                })
-                .map(this::mapToTicketSummary)
-                .collect(Collectors.toList());
+    public void writeTicketSummariesForAgent(String agentId, SequenceWriter writer) throws IOException {
+        // HIGH first, no priority last, read as one query per priority instead of
+        // sorting in memory
+        for (Priority priority : new Priority[]{Priority.HIGH, Priority.MEDIUM, Priority.LOW, null}) {
+            writeTicketSummaries(ticketRepository.streamSummariesByAgentAndPriority(agentId, priority), writer);
+        }
+    }
+
+    private void writeTicketSummaries(Stream<Ticket> tickets, SequenceWriter writer) throws IOException {
+        try (tickets) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                writer.write(mapToTicketSummary(iterator.next()));
+            }
+        }
     }
 
     public Map<String, List<TicketSummaryResponse>> getTicketSummariesGroupedByStatus(String agentId) {
@@ -346,7 +413,7 @@ public class TicketService {
                 .orElseThrow(() -> new ApiException("Ticket not found", HttpStatus.NOT_FOUND));
     }
 
-    private TicketResponse mapToTicketResponse(Ticket ticket) {
+    public TicketResponse mapToTicketResponse(Ticket ticket) {
         return TicketResponse.builder()
                 .id(ticket.getId())
                 .title(ticket.getTitle())
@@ -366,7 +433,7 @@ public class TicketService {
                 .build();
     }
 
-    private TicketSummaryResponse mapToTicketSummary(Ticket ticket) {
+    public TicketSummaryResponse mapToTicketSummary(Ticket ticket) {
         return TicketSummaryResponse.builder()
                 .id(ticket.getId())
                 .title(ticket.getTitle())
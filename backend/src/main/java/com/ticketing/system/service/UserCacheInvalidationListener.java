@@ -0,0 +1,38 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.model.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts users from UserDirectoryService when they are saved or deleted through
+ * a repository or MongoTemplate.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener extends AbstractMongoEventListener<User> {
+
+    private final UserDirectoryService userDirectoryService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        userDirectoryService.evict(event.getSource().getId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Document deleted = event.getSource();
+        Object id = deleted.get("_id");
+        if (id instanceof String || id instanceof ObjectId) {
+            userDirectoryService.evict(id.toString());
+        } else {
+            // Deleted by a query rather than by a single ID
+            userDirectoryService.evictAll();
+        }
+    }
+}
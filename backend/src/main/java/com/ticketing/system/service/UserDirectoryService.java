@@ -0,0 +1,82 @@
+package com.ticketing.system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketing.system.model.User;
+import com.ticketing.system.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of users by ID and by email, for hot paths that only need a
+ * user's name, role or credentials.
+ *
+ * Entries are bounded in number and expire after a fixed time; saves and deletes
+ * through Spring Data evict them straight away (UserCacheInvalidationListener), so
+ * the TTL only bounds staleness from writes made by other instances. Cached users are
+ * shared: callers must not modify them, and write paths should load from the repository.
+ * Hit, miss, eviction and size metrics are published as cache_* with cache="users.byId"
+ * or "users.byEmail".
+ */
+@Service
+public class UserDirectoryService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> usersById;
+    private final Cache<String, User> usersByEmail;
+
+    public UserDirectoryService(UserRepository userRepository,
+                                @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${user-cache.ttl:5m}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users.byEmail");
+    }
+
+    public Optional<User> findById(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        // Misses are not cached, so a user created later is found right away
+        return Optional.ofNullable(usersById.get(userId, id -> userRepository.findById(id).orElse(null)));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(usersByEmail.get(email, e -> userRepository.findByEmail(e).orElse(null)));
+    }
+
+    /**
+     * Drop a user from both caches, including under an email it no longer has.
+     */
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        usersById.invalidate(userId);
+        usersByEmail.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    public void evictAll() {
+        usersById.invalidateAll();
+        usersByEmail.invalidateAll();
+    }
+}
@@ -19,6 +19,8 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserDirectoryService userDirectoryService;
+    private final PresenceService presenceService;
     private final TicketRepository ticketRepository;
 
     // Priority weights for workload calculation
@@ -27,7 +29,7 @@ public class UserService {
     private static final double LOW_PRIORITY_WEIGHT = 0.2;
 
     public User getUserById(String userId) {
-        return userRepository.findById(userId)
+        return userDirectoryService.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
     }
 
@@ -43,12 +45,14 @@ public class UserService {
     }
 
     public void updateHeartbeat(String userId) {
-        User user = getUserById(userId);
-        user.setLastActiveAt(System.currentTimeMillis());
-        userRepository.save(user);
+        if (userDirectoryService.findById(userId).isEmpty()) {
+            throw new ApiException("User not found", HttpStatus.NOT_FOUND);
+        }
+        presenceService.heartbeat(userId);
     }
 
     public AgentDetailResponse getAgentDetails(String agentId) {
+        // From the repository: the directory may hold an older lastActiveAt
         User agent = userRepository.findById(agentId)
                 .orElseThrow(() -> new ApiException("Agent not found", HttpStatus.NOT_FOUND));
 
@@ -89,7 +93,7 @@ public class UserService {
                 .email(agent.getEmail())
                 .phoneNumber(agent.getPhoneNumber())
                 .employeeId(agent.getEmployeeId())
-                .lastActiveAt(agent.getLastActiveAt())
+                .lastActiveAt(presenceService.getLastActiveAt(agent.getId(), agent.getLastActiveAt()))
                 .notStartedCount(notStarted)
                 .inProgressCount(inProgress)
                 .closedCount(closed)
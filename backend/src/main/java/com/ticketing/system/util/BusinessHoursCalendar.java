@@ -0,0 +1,69 @@
+package com.ticketing.system.util;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Working hours in one time zone: a daily opening window on selected weekdays, minus holidays.
+ */
+public class BusinessHoursCalendar {
+
+    private final ZoneId zone;
+    private final EnumSet<DayOfWeek> workingDays;
+    private final LocalTime start;
+    private final LocalTime end;
+    private final Set<LocalDate> holidays;
+
+    public BusinessHoursCalendar(ZoneId zone, Set<DayOfWeek> workingDays, LocalTime start, LocalTime end, Set<LocalDate> holidays) {
+        if (workingDays.isEmpty()) {
+            throw new IllegalArgumentException("A business calendar needs at least one working day");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Business hours must start before they end");
+        }
+        this.zone = zone;
+        this.workingDays = EnumSet.copyOf(workingDays);
+        this.start = start;
+        this.end = end;
+        this.holidays = Set.copyOf(holidays);
+    }
+
+    /**
+     * The instant at which the given amount of business time has elapsed after startMillis.
+     */
+    public long addBusinessTime(long startMillis, long durationMillis) {
+        ZonedDateTime cursor = Instant.ofEpochMilli(startMillis).atZone(zone);
+        long remaining = durationMillis;
+
+        while (true) {
+            LocalDate day = cursor.toLocalDate();
+            if (!workingDays.contains(day.getDayOfWeek()) || holidays.contains(day)) {
+                cursor = day.plusDays(1).atTime(start).atZone(zone);
+                continue;
+            }
+
+            ZonedDateTime open = day.atTime(start).atZone(zone);
+            ZonedDateTime close = day.atTime(end).atZone(zone);
+            if (cursor.isBefore(open)) {
+                cursor = open;
+            }
+            if (!cursor.isBefore(close)) {
+                cursor = day.plusDays(1).atTime(start).atZone(zone);
+                continue;
+            }
+
+            long available = close.toInstant().toEpochMilli() - cursor.toInstant().toEpochMilli();
+            if (remaining <= available) {
+                return cursor.toInstant().toEpochMilli() + remaining;
+            }
+            remaining -= available;
+            cursor = day.plusDays(1).atTime(start).atZone(zone);
+        }
+    }
+}
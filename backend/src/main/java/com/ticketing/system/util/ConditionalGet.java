@@ -0,0 +1,41 @@
+package com.ticketing.system.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET helpers for responses that carry an ETag.
+ */
+public final class ConditionalGet {
+
+    // Browsers may keep the response but must revalidate it before every reuse
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Check If-None-Match against an ETag computed before the response data is read.
+     * Sets the ETag and Cache-Control headers; returns true when the response has been
+     * turned into a 304 and the handler should return null.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String etag) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        return request.checkNotModified(etag);
+    }
+
+    /**
+     * Same check for a URL that answers in more than one format, chosen by the Accept
+     * header. Adds Vary: Accept so shared caches key on it, and folds the format into
+     * the ETag so a copy of one format never revalidates a request for the other.
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String etag, MediaType format) {
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // W/"scope-..." -> W/"scope-...-x-ndjson"
+        int closingQuote = etag.lastIndexOf('"');
+        String formatEtag = etag.substring(0, closingQuote) + "-" + format.getSubtype() + etag.substring(closingQuote);
+        return checkNotModified(request, formatEtag);
+    }
+}
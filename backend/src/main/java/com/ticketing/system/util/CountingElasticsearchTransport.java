@@ -0,0 +1,52 @@
+package com.ticketing.system.util;
+
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.Endpoint;
+import co.elastic.clients.transport.TransportOptions;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Elasticsearch transport that counts each call against the current request's QueryBudget,
+ * on the calling thread, before handing it to the real transport. The shape of a call is its
+ * endpoint, e.g. "es/search" or "es/bulk".
+ */
+public class CountingElasticsearchTransport implements ElasticsearchTransport {
+
+    private final ElasticsearchTransport delegate;
+
+    public CountingElasticsearchTransport(ElasticsearchTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        QueryBudget.recordElasticsearchCall(endpoint.id());
+        return delegate.performRequest(request, endpoint, options);
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        QueryBudget.recordElasticsearchCall(endpoint.id());
+        return delegate.performRequestAsync(request, endpoint, options);
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
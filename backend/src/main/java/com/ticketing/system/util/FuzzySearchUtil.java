@@ -1,8 +1,11 @@
 package com.ticketing.system.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 public class FuzzySearchUtil {
 
@@ -23,6 +26,9 @@ public class FuzzySearchUtil {
         "they", "them", "their", "what", "which", "who", "whom"
     ));
 
+    // Same separators the per-call split used; compiled once instead of on every split
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s,.!?;:]+");
+
     /**
      * Check if a word is a stop word (common word that doesn't carry much meaning)
      */
@@ -202,59 +208,31 @@ public class FuzzySearchUtil {
         if (query == null || (title == null && description == null)) {
             return 0.0;
         }
-        
-        query = query.toLowerCase().trim();
-        String[] queryWords = query.split("[\\s,.!?;:]+");
-        
-        double titleScore = 0.0;
-        double descScore = 0.0;
-        int contentWordsInTitle = 0;
-        int contentWordsInDesc = 0;
-        int totalContentWords = 0;
-        
-        double threshold = getDefaultThreshold();
-        
-        for (String queryWord : queryWords) {
-            if (queryWord.isEmpty()) continue;
-            
-            boolean isContentWord = !isStopWord(queryWord);
-            if (isContentWord) totalContentWords++;
-            
-            // Check title
-            if (title != null) {
-                String[] titleWords = title.toLowerCase().split("[\\s,.!?;:]+");
-                double titleBest = findBestWordMatch(queryWord, titleWords, threshold);
-                if (titleBest >= threshold) {
-                    // Content words score higher
-                    double wordScore = isContentWord ? titleBest * 1.5 : titleBest * 0.5;
-                    titleScore += wordScore;
-                    if (isContentWord) contentWordsInTitle++;
-                }
-            }
-            
-            // Check description
-            if (description != null) {
-                String[] descWords = description.toLowerCase().split("[\\s,.!?;:]+");
-                double descBest = findBestWordMatch(queryWord, descWords, threshold);
-                if (descBest >= threshold) {
-                    double wordScore = isContentWord ? descBest * 0.75 : descBest * 0.25;
-                    descScore += wordScore;
-                    if (isContentWord) contentWordsInDesc++;
-                }
-            }
+        return PreparedQuery.of(query).score(title, description);
+    }
+
+    /**
+     * Calculate relevance scores for a batch of candidates against one query.
+     * Candidate i is described by titles[i] and descriptions[i]; the result holds
+     * the score of each candidate in the same order, identical to calling
+     * calculateRelevanceScore for it. The query is tokenized once for the whole
+     * batch.
+     */
+    public static double[] calculateRelevanceScores(String query, String[] titles, String[] descriptions) {
+        if (titles.length != descriptions.length) {
+            throw new IllegalArgumentException("titles and descriptions must have the same length");
         }
-        
-        // Penalize if not enough content words match
-        if (totalContentWords > 0) {
-            int maxContentMatches = Math.max(contentWordsInTitle, contentWordsInDesc);
-            double contentRatio = (double) maxContentMatches / totalContentWords;
-            if (contentRatio < 0.5) {
-                return 0.0; // Not a good match
-            }
+
+        double[] scores = new double[titles.length];
+        if (query == null) {
+            return scores;
         }
-        
-        // Title matches weighted 2x
-        return (titleScore * 2.0) + descScore;
+
+        PreparedQuery preparedQuery = PreparedQuery.of(query);
+        for (int i = 0; i < titles.length; i++) {
+            scores[i] = preparedQuery.score(titles[i], descriptions[i]);
+        }
+        return scores;
     }
 
     /**
@@ -263,4 +241,92 @@ public class FuzzySearchUtil {
     public static double getDefaultThreshold() {
         return 0.70;
     }
+
+    /**
+     * A query tokenized once so it can be scored against many candidates.
+     */
+    private static final class PreparedQuery {
+        private final String[] words;
+        private final boolean[] contentWords;
+        private final int totalContentWords;
+        private final double threshold;
+
+        private PreparedQuery(String[] words, boolean[] contentWords, int totalContentWords, double threshold) {
+            this.words = words;
+            this.contentWords = contentWords;
+            this.totalContentWords = totalContentWords;
+            this.threshold = threshold;
+        }
+
+        static PreparedQuery of(String query) {
+            List<String> words = new ArrayList<>();
+            for (String word : WORD_SEPARATOR.split(query.toLowerCase().trim())) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+
+            boolean[] contentWords = new boolean[words.size()];
+            int totalContentWords = 0;
+            for (int i = 0; i < words.size(); i++) {
+                contentWords[i] = !isStopWord(words.get(i));
+                if (contentWords[i]) totalContentWords++;
+            }
+
+            return new PreparedQuery(words.toArray(new String[0]), contentWords, totalContentWords, getDefaultThreshold());
+        }
+
+        double score(String title, String description) {
+            if (title == null && description == null) {
+                return 0.0;
+            }
+
+            // Split each field once per candidate rather than once per query word
+            String[] titleWords = title != null ? WORD_SEPARATOR.split(title.toLowerCase()) : null;
+            String[] descWords = description != null ? WORD_SEPARATOR.split(description.toLowerCase()) : null;
+
+            double titleScore = 0.0;
+            double descScore = 0.0;
+            int contentWordsInTitle = 0;
+            int contentWordsInDesc = 0;
+
+            for (int i = 0; i < words.length; i++) {
+                String queryWord = words[i];
+                boolean isContentWord = contentWords[i];
+
+                // Check title
+                if (titleWords != null) {
+                    double titleBest = findBestWordMatch(queryWord, titleWords, threshold);
+                    if (titleBest >= threshold) {
+                        // Content words score higher
+                        double wordScore = isContentWord ? titleBest * 1.5 : titleBest * 0.5;
+                        titleScore += wordScore;
+                        if (isContentWord) contentWordsInTitle++;
+                    }
+                }
+
+                // Check description
+                if (descWords != null) {
+                    double descBest = findBestWordMatch(queryWord, descWords, threshold);
+                    if (descBest >= threshold) {
+                        double wordScore = isContentWord ? descBest * 0.75 : descBest * 0.25;
+                        descScore += wordScore;
+                        if (isContentWord) contentWordsInDesc++;
+                    }
+                }
+            }
+
+            // Penalize if not enough content words match
+            if (totalContentWords > 0) {
+                int maxContentMatches = Math.max(contentWordsInTitle, contentWordsInDesc);
+                double contentRatio = (double) maxContentMatches / totalContentWords;
+                if (contentRatio < 0.5) {
+                    return 0.0; // Not a good match
+                }
+            }
+
+            // Title matches weighted 2x
+            return (titleScore * 2.0) + descScore;
+        }
+    }
 }
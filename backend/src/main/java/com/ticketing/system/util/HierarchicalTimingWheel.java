@@ -0,0 +1,175 @@
+package com.ticketing.system.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding one deadline per key.
+ *
+ * The lowest level has wheelSize slots of tickMillis each; every level above it has
+ * the same number of slots, each as wide as the whole level below. Levels are added
+ * as far-off deadlines require them. Scheduling and cancelling are O(1), and each
+ * tick only touches the slot being passed (plus a cascade from the level above when
+ * the lower level wraps around).
+ *
+ * Deadlines are rounded up to the next tick, so a key never expires early and
+ * expires at most one tick late. Rescheduling or cancelling a key leaves its old
+ * entry in place; stale entries are skipped when their slot comes up.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+
+    // Authoritative (rounded) deadline per key; entries that disagree with it are stale
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private final List<Level<K>> levels = new ArrayList<>();
+    private List<Entry<K>> due = new ArrayList<>();
+    private long currentTime;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        this.levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    /**
+     * Schedule a key to expire at the given time, replacing any previous deadline for it.
+     * A deadline that has already passed expires on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        long expiration = roundUpToTick(deadlineMillis);
+        deadlines.put(key, expiration);
+        place(new Entry<>(key, expiration));
+    }
+
+    /**
+     * Stop tracking a key. Does nothing if the key is not scheduled.
+     */
+    public synchronized void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Move the wheel forward to the given time and return every key whose deadline
+     * has been reached. Expired keys are no longer tracked.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        expire(takeDue(), expired);
+
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+
+            // Cascade from the top so entries moved down land in slots not yet passed
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level<K> level = levels.get(i);
+                if (currentTime % level.tickMillis == 0) {
+                    for (Entry<K> entry : level.takeSlot(currentTime)) {
+                        if (isCurrent(entry)) {
+                            place(entry);
+                        }
+                    }
+                }
+            }
+
+            expire(levels.get(0).takeSlot(currentTime), expired);
+            expire(takeDue(), expired);
+        }
+        return expired;
+    }
+
+    private void place(Entry<K> entry) {
+        if (entry.expiration <= currentTime) {
+            due.add(entry);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<K> top = levels.get(i - 1);
+                levels.add(new Level<>(top.tickMillis * wheelSize, wheelSize));
+            }
+            Level<K> level = levels.get(i);
+            long levelTime = currentTime - currentTime % level.tickMillis;
+            if (entry.expiration < levelTime + level.tickMillis * wheelSize) {
+                level.add(entry);
+                return;
+            }
+        }
+    }
+
+    private void expire(List<Entry<K>> entries, List<K> expired) {
+        for (Entry<K> entry : entries) {
+            if (isCurrent(entry)) {
+                deadlines.remove(entry.key);
+                expired.add(entry.key);
+            }
+        }
+    }
+
+    private List<Entry<K>> takeDue() {
+        List<Entry<K>> taken = due;
+        due = new ArrayList<>();
+        return taken;
+    }
+
+    private boolean isCurrent(Entry<K> entry) {
+        Long deadline = deadlines.get(entry.key);
+        return deadline != null && deadline == entry.expiration;
+    }
+
+    private long roundUpToTick(long millis) {
+        long remainder = Math.floorMod(millis, tickMillis);
+        return remainder == 0 ? millis : millis - remainder + tickMillis;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long expiration;
+
+        Entry(K key, long expiration) {
+            this.key = key;
+            this.expiration = expiration;
+        }
+    }
+
+    private static final class Level<K> {
+        private final long tickMillis;
+        private final List<Entry<K>>[] slots;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.slots = new List[wheelSize];
+        }
+
+        void add(Entry<K> entry) {
+            int index = slotIndex(entry.expiration);
+            if (slots[index] == null) {
+                slots[index] = new ArrayList<>();
+            }
+            slots[index].add(entry);
+        }
+
+        List<Entry<K>> takeSlot(long time) {
+            int index = slotIndex(time);
+            List<Entry<K>> entries = slots[index];
+            slots[index] = null;
+            return entries != null ? entries : List.of();
+        }
+
+        private int slotIndex(long time) {
+            return (int) Math.floorMod(time / tickMillis, (long) slots.length);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ticketing.system.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback turbo filter that keeps one in keepOneIn events of the configured loggers
+ * (and their children) at or below the configured level, and drops the rest before
+ * the message is formatted. More severe events always pass. Configured in
+ * logback-spring.xml.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private Level level = Level.DEBUG;
+    private int keepOneIn = 100;
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.DEBUG);
+    }
+
+    public void setKeepOneIn(int keepOneIn) {
+        this.keepOneIn = Math.max(1, keepOneIn);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        if (eventLevel == null || eventLevel.toInt() > level.toInt()) {
+            return FilterReply.NEUTRAL; // More severe than what is sampled
+        }
+        if (!eventLevel.isGreaterOrEqual(logger.getEffectiveLevel()) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL; // Disabled anyway, or not a sampled logger
+        }
+        return ThreadLocalRandom.current().nextInt(keepOneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        for (String logger : loggers) {
+            if (name.equals(logger) || name.startsWith(logger) && name.charAt(logger.length()) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
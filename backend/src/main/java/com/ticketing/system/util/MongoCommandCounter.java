@@ -0,0 +1,82 @@
+package com.ticketing.system.util;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Counts the MongoDB commands each thread sends, so a job can report how many queries
+ * one run cost. The synchronous driver notifies listeners on the calling thread.
+ * Commands sent while handling an HTTP request are also counted against its QueryBudget.
+ */
+public class MongoCommandCounter implements CommandListener {
+
+    private static final ThreadLocal<long[]> COMMANDS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Commands sent by the current thread so far; take the difference of two readings.
+     */
+    public static long commandsOnCurrentThread() {
+        return COMMANDS.get()[0];
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        COMMANDS.get()[0]++;
+        if (QueryBudget.isActive()) {
+            String shape = shape(event);
+            if (shape != null) {
+                QueryBudget.recordMongoCommand(shape);
+            }
+        }
+    }
+
+    // Command, collection and filter fields without their values, e.g. "find tickets [assignedAgentId, status]".
+    // Null for getMore and killCursors: a cursor's later batches belong to the query that opened it.
+    static String shape(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        if (name.equals("getMore") || name.equals("killCursors")) {
+            return null;
+        }
+        BsonDocument command = event.getCommand();
+        StringBuilder shape = new StringBuilder(name);
+        BsonValue collection = command.get(name);
+        if (collection != null && collection.isString()) {
+            shape.append(' ').append(collection.asString().getValue());
+        }
+        BsonValue filter = null;
+        if (name.equals("find")) {
+            filter = command.get("filter");
+        } else if (name.equals("count") || name.equals("distinct")) {
+            filter = command.get("query");
+        } else if (name.equals("aggregate")) {
+            filter = firstMatch(command.get("pipeline"));
+        } else if (name.equals("update")) {
+            filter = firstStatementFilter(command.get("updates"));
+        } else if (name.equals("delete")) {
+            filter = firstStatementFilter(command.get("deletes"));
+        }
+        if (filter != null && filter.isDocument()) {
+            shape.append(' ').append(filter.asDocument().keySet());
+        }
+        return shape.toString();
+    }
+
+    private static BsonValue firstMatch(BsonValue pipeline) {
+        if (pipeline == null || !pipeline.isArray() || pipeline.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue stage = pipeline.asArray().get(0);
+        return stage.isDocument() ? stage.asDocument().get("$match") : null;
+    }
+
+    private static BsonValue firstStatementFilter(BsonValue statements) {
+        if (statements == null || !statements.isArray()) {
+            return null;
+        }
+        BsonArray array = statements.asArray();
+        return !array.isEmpty() && array.get(0).isDocument() ? array.get(0).asDocument().get("q") : null;
+    }
+}
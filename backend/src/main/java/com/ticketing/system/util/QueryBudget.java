@@ -0,0 +1,89 @@
+package com.ticketing.system.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MongoDB commands and Elasticsearch calls made while handling one HTTP request, with how
+ * often each query shape was sent. QueryBudgetFilter starts one per request on the request
+ * thread, and QueryBudgetCallableInterceptor carries it over to the thread that writes a
+ * StreamingResponseBody or runs a Callable. Other work handed to other threads (reactive
+ * driver, emitters fed from executors) is not counted.
+ */
+public final class QueryBudget {
+
+    /**
+     * Request attribute holding the request's budget, for threads that continue the request.
+     */
+    public static final String REQUEST_ATTRIBUTE = QueryBudget.class.getName();
+
+    private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+
+    // Updated from the request thread and an async thread continuing the request
+    private final AtomicLong mongoCommands = new AtomicLong();
+    private final AtomicLong elasticsearchCalls = new AtomicLong();
+    private final Map<String, Integer> shapes = new ConcurrentHashMap<>();
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Start counting on the current thread; pair with {@link #clear()}.
+     */
+    public static QueryBudget start() {
+        QueryBudget budget = new QueryBudget();
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * Count on the current thread into a budget started on another; pair with {@link #clear()}.
+     */
+    public static void resume(QueryBudget budget) {
+        CURRENT.set(budget);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the current thread is handling a counted request; check before building a shape.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static void recordMongoCommand(String shape) {
+        QueryBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.mongoCommands.incrementAndGet();
+            budget.shapes.merge("mongodb " + shape, 1, Integer::sum);
+        }
+    }
+
+    public static void recordElasticsearchCall(String shape) {
+        QueryBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.elasticsearchCalls.incrementAndGet();
+            budget.shapes.merge("elasticsearch " + shape, 1, Integer::sum);
+        }
+    }
+
+    public long getMongoCommands() {
+        return mongoCommands.get();
+    }
+
+    public long getElasticsearchCalls() {
+        return elasticsearchCalls.get();
+    }
+
+    /**
+     * Times each query shape was sent, keyed by store and shape.
+     */
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+}
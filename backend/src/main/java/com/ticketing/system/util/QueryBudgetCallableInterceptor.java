@@ -0,0 +1,28 @@
+package com.ticketing.system.util;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the queries of a StreamingResponseBody or Callable handler into its request's
+ * budget. Both run on an async thread after the request thread has left QueryBudgetFilter,
+ * which reports such requests when the async request completes.
+ */
+public class QueryBudgetCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object budget = request.getAttribute(QueryBudget.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (budget instanceof QueryBudget) {
+            QueryBudget.resume((QueryBudget) budget);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryBudget.clear();
+    }
+}
@@ -0,0 +1,182 @@
+package com.ticketing.system.util;
+
+import com.ticketing.system.config.QueryBudgetProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Counts the MongoDB commands and Elasticsearch calls each request makes. Requests over
+ * the budget, or repeating one query shape more than query-budget.max-repeats times (an
+ * N+1 such as one lookup per agent), are logged at WARN with their endpoint. Counts are
+ * recorded per endpoint as metrics and, in development, returned as response headers.
+ */
+@Component
+// Outside Spring Security, so user lookups during login are counted
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private static final String MONGO_COMMANDS_HEADER = "X-Mongo-Commands";
+    private static final String ELASTICSEARCH_CALLS_HEADER = "X-Elasticsearch-Calls";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryBudget budget = QueryBudget.start();
+        request.setAttribute(QueryBudget.REQUEST_ATTRIBUTE, budget);
+        QueryCountHeaders headers = properties.isHeaders() ? new QueryCountHeaders(response, budget) : null;
+        try {
+            filterChain.doFilter(request, headers != null ? headers : response);
+        } finally {
+            QueryBudget.clear();
+            if (request.isAsyncStarted()) {
+                // A streamed body is still being written on an async thread that counts into
+                // the same budget; report once it is done
+                request.getAsyncContext().addListener(new ReportOnCompletion(request, budget, headers));
+            } else {
+                finish(request, budget, headers);
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, QueryBudget budget, QueryCountHeaders headers) {
+        if (headers != null) {
+            // Responses without a body are committed after the filter returns
+            headers.write();
+        }
+        report(request, budget);
+    }
+
+    private void report(HttpServletRequest request, QueryBudget budget) {
+        // Pattern of the matched handler, e.g. /api/v1/tickets/{ticketId}; absent when no handler matched
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern : "UNKNOWN";
+        String method = request.getMethod();
+
+        if (properties.isMetrics()) {
+            meterRegistry.summary("http.server.requests.queries", "method", method, "uri", uri, "store", "mongodb")
+                    .record(budget.getMongoCommands());
+            meterRegistry.summary("http.server.requests.queries", "method", method, "uri", uri, "store", "elasticsearch")
+                    .record(budget.getElasticsearchCalls());
+        }
+
+        String endpoint = method + " " + (pattern != null ? pattern : request.getRequestURI());
+        if (budget.getMongoCommands() > properties.getMaxMongoCommands()
+                || budget.getElasticsearchCalls() > properties.getMaxElasticsearchCalls()) {
+            exceeded(method, uri, "budget");
+            log.warn("Query budget exceeded by {}: {} {}",
+                    kv("endpoint", endpoint),
+                    kv("mongoCommands", budget.getMongoCommands()),
+                    kv("elasticsearchCalls", budget.getElasticsearchCalls()));
+        }
+        for (Map.Entry<String, Integer> shape : budget.getShapes().entrySet()) {
+            if (shape.getValue() > properties.getMaxRepeats()) {
+                exceeded(method, uri, "repeated");
+                log.warn("Repeated query in {}: {} {}",
+                        kv("endpoint", endpoint),
+                        kv("shape", shape.getKey()),
+                        kv("times", shape.getValue()));
+            }
+        }
+    }
+
+    private void exceeded(String method, String uri, String reason) {
+        if (properties.isMetrics()) {
+            meterRegistry.counter("http.server.requests.query.budget.exceeded",
+                    "method", method, "uri", uri, "reason", reason).increment();
+        }
+    }
+
+    private final class ReportOnCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final QueryBudget budget;
+        private final QueryCountHeaders headers;
+
+        ReportOnCompletion(HttpServletRequest request, QueryBudget budget, QueryCountHeaders headers) {
+            this.request = request;
+            this.budget = budget;
+            this.headers = headers;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(request, budget, headers);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Adds the counts as headers just before the response is committed; queries made after
+     * the first byte of a streamed body are not included.
+     */
+    private static final class QueryCountHeaders extends OnCommittedResponseWrapper {
+
+        private final QueryBudget budget;
+        private boolean written;
+
+        QueryCountHeaders(HttpServletResponse response, QueryBudget budget) {
+            super(response);
+            this.budget = budget;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            write();
+        }
+
+        void write() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(MONGO_COMMANDS_HEADER, Long.toString(budget.getMongoCommands()));
+            setHeader(ELASTICSEARCH_CALLS_HEADER, Long.toString(budget.getElasticsearchCalls()));
+        }
+    }
+}
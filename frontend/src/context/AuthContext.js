@@ -94,6 +94,12 @@ export const AuthProvider = ({ children }) => {
     // Stop heartbeat before logging out
     stopHeartbeat();
 
+    // Revoke the token server-side; the local session ends either way
+    const token = localStorage.getItem('token');
+    if (token) {
+      authAPI.logout(token).catch((error) => console.debug('Logout failed:', error.message));
+    }
+
     localStorage.removeItem('token');
     localStorage.removeItem('user');
     setUser(null);
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from "react";
 import { ticketAPI, agentAPI } from "../services/api";
+import { useServerEvents } from "../services/stream";
 import Navbar from "../components/Navbar";
 import "./AgentsPage.css";
 
@@ -19,6 +20,27 @@ const AgentsPage = () => {
     fetchData();
   }, []);
 
+  // Pushed workload deltas replace re-running the workload computation
+  useServerEvents({
+    workload: (delta) =>
+      setWorkloads((current) =>
+        current.map((w) =>
+          w.agentId === delta.agentId
+            ? {
+                ...w,
+                notStartedCount: w.notStartedCount + delta.notStartedCount,
+                inProgressCount: w.inProgressCount + delta.inProgressCount,
+                totalActiveTickets: w.totalActiveTickets + delta.totalActiveTickets,
+                highPriorityCount: w.highPriorityCount + delta.highPriorityCount,
+                mediumPriorityCount: w.mediumPriorityCount + delta.mediumPriorityCount,
+                lowPriorityCount: w.lowPriorityCount + delta.lowPriorityCount,
+                workloadScore: w.workloadScore + delta.workloadScore,
+              }
+            : w,
+        ),
+      ),
+  });
+
   const fetchData = async () => {
     try {
       setLoading(true);
@@ -1,19 +1,42 @@
 import React, { useState, useEffect } from 'react';
 import { ticketAPI } from '../services/api';
+import { useServerEvents } from '../services/stream';
+import { useAuth } from '../context/AuthContext';
 import TicketCard from '../components/TicketCard';
 import Navbar from '../components/Navbar';
 import './DashboardPage.css';
 
+// HIGH first, tickets without priority last (same order as the server)
+const PRIORITY_RANK = { HIGH: 3, MEDIUM: 2, LOW: 1, null: 0, undefined: 0 };
+
 const DashboardPage = () => {
   const [ticketsByStatus, setTicketsByStatus] = useState({});
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [activeTab, setActiveTab] = useState('ALL');
+  const { user } = useAuth();
 
   useEffect(() => {
     fetchTickets();
   }, []);
 
+  // Move pushed tickets to their new status group, or drop them once reassigned
+  useServerEvents({
+    ticket: ({ ticket }) =>
+      setTicketsByStatus((current) => {
+        const next = {};
+        Object.entries(current).forEach(([status, list]) => {
+          next[status] = list.filter((t) => t.id !== ticket.id);
+        });
+        if (ticket.assignedAgentId === user?.userId) {
+          next[ticket.status] = [...(next[ticket.status] || []), ticket].sort(
+            (a, b) => PRIORITY_RANK[b.priority] - PRIORITY_RANK[a.priority],
+          );
+        }
+        return next;
+      }),
+  });
+
   const fetchTickets = async () => {
     try {
       setLoading(true);
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { ticketAPI } from '../services/api';
+import { useServerEvents } from '../services/stream';
 import TicketCard from '../components/TicketCard';
 import Navbar from '../components/Navbar';
 import './ManagerDashboardPage.css';
@@ -14,6 +15,16 @@ const ManagerDashboardPage = () => {
     fetchTickets();
   }, []);
 
+  // Apply pushed ticket changes instead of reloading the list
+  useServerEvents({
+    ticket: ({ ticket }) =>
+      setTickets((current) =>
+        current.some((t) => t.id === ticket.id)
+          ? current.map((t) => (t.id === ticket.id ? ticket : t))
+          : [...current, ticket],
+      ),
+  });
+
   const fetchTickets = async () => {
     try {
       setLoading(true);
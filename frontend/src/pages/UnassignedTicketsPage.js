@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from "react";
 import { ticketAPI, agentAPI } from "../services/api";
+import { useServerEvents } from "../services/stream";
 import Navbar from "../components/Navbar";
 import StatusBadge from "../components/StatusBadge";
 import "./UnassignedTicketsPage.css";
@@ -21,6 +22,19 @@ const UnassignedTicketsPage = () => {
     fetchData();
   }, []);
 
+  // Keep the list current as tickets are created, prioritised or assigned elsewhere
+  useServerEvents({
+    ticket: ({ ticket }) =>
+      setTickets((current) => {
+        if (ticket.assignedAgentId) {
+          return current.filter((t) => t.id !== ticket.id);
+        }
+        return current.some((t) => t.id === ticket.id)
+          ? current.map((t) => (t.id === ticket.id ? ticket : t))
+          : [...current, ticket];
+      }),
+  });
+
   const fetchData = async () => {
     try {
       setLoading(true);
@@ -1,6 +1,6 @@
 import axios from "axios";
 
-const API_BASE_URL = "http://localhost:8080/api/v1";
+export const API_BASE_URL = "http://localhost:8080/api/v1";
 
 const api = axios.create({
   baseURL: API_BASE_URL,
@@ -39,6 +39,9 @@ api.interceptors.response.use(
 // Auth API
 export const authAPI = {
   login: (email, password) => api.post("/auth/login", { email, password }),
+  // Token passed explicitly: it is removed from storage before the request goes out
+  logout: (token) =>
+    api.post("/auth/logout", null, { headers: { Authorization: `Bearer ${token}` } }),
 };
 
 // Ticket API - Unified for both agents and managers
@@ -0,0 +1,36 @@
+import { useEffect, useRef } from "react";
+import { API_BASE_URL } from "./api";
+
+// Subscribe to server-pushed events while the component is mounted.
+// handlers maps event names ("ticket", "workload") to callbacks receiving the parsed payload.
+export const useServerEvents = (handlers) => {
+  const handlersRef = useRef(handlers);
+  handlersRef.current = handlers;
+
+  useEffect(() => {
+    const token = localStorage.getItem("token");
+    if (!token) {
+      return undefined;
+    }
+
+    // EventSource cannot set headers, so the token goes in the query string
+    const source = new EventSource(
+      `${API_BASE_URL}/stream?access_token=${encodeURIComponent(token)}`,
+    );
+    const listeners = Object.keys(handlersRef.current).map((name) => {
+      const listener = (event) => {
+        const handler = handlersRef.current[name];
+        if (handler) {
+          handler(JSON.parse(event.data));
+        }
+      };
+      source.addEventListener(name, listener);
+      return [name, listener];
+    });
+
+    return () => {
+      listeners.forEach(([name, listener]) => source.removeEventListener(name, listener));
+      source.close();
+    };
+  }, []);
+};